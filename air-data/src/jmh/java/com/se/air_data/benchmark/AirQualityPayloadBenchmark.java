@@ -0,0 +1,62 @@
+package com.se.air_data.benchmark;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.se.air_data.entity.AirQualityData;
+import com.se.air_data.kafka.service.AirQualityChangeFilter;
+import com.se.air_data.kafka.service.AirQualityPublisher;
+import com.se.air_data.kafka.service.CoordinatesProcessingConsumer;
+import com.se.air_data.model.AQIResult;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Per-reading work on the ingest path: provider result to entity, and entity to the
+ * JSON message published for the ML component.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class AirQualityPayloadBenchmark {
+
+    private AQIResult result;
+    private AirQualityData data;
+    private AirQualityPublisher publisher;
+    private ObjectMapper objectMapper;
+
+    @Setup
+    public void setUp() {
+        result = new AQIResult(Payloads.components(), 153);
+        data = CoordinatesProcessingConsumer.toAirQualityData("Mumbai", "Maharashtra", result);
+        // Only toPayload is exercised, which never touches the KafkaTemplate or the filter
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        publisher = new AirQualityPublisher(null, new AirQualityChangeFilter(null, meterRegistry), meterRegistry);
+        objectMapper = Payloads.objectMapper();
+    }
+
+    @Benchmark
+    public AirQualityData toAirQualityData() {
+        return CoordinatesProcessingConsumer.toAirQualityData("Mumbai", "Maharashtra", result);
+    }
+
+    @Benchmark
+    public Map<String, Object> buildPayload() {
+        return publisher.toPayload(data);
+    }
+
+    @Benchmark
+    public byte[] buildAndSerializePayload() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(publisher.toPayload(data));
+    }
+}
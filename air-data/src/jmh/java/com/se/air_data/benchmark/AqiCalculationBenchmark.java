@@ -0,0 +1,76 @@
+package com.se.air_data.benchmark;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.se.air_data.model.AqiBreakdown;
+import com.se.air_data.model.Components;
+import com.se.air_data.service.AQICalculator;
+import com.se.air_data.service.AqiEngine;
+import com.se.air_data.service.EuCaqiStandard;
+import com.se.air_data.service.IndiaCpcbAqiStandard;
+import com.se.air_data.service.UsEpaAqiStandard;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class AqiCalculationBenchmark {
+
+    private static final int BATCH_SIZE = 4096;
+
+    private Components components;
+    private AqiEngine aqiEngine;
+
+    private double[] pm25 = new double[BATCH_SIZE];
+    private double[] pm10 = new double[BATCH_SIZE];
+    private double[] co = new double[BATCH_SIZE];
+    private double[] no2 = new double[BATCH_SIZE];
+    private double[] so2 = new double[BATCH_SIZE];
+    private double[] o3 = new double[BATCH_SIZE];
+    private int[] out = new int[BATCH_SIZE];
+
+    @Setup
+    public void setUp() {
+        components = Payloads.components();
+        // No location is passed, so the engine never touches the rollup service
+        aqiEngine = new AqiEngine(List.of(new IndiaCpcbAqiStandard(), new UsEpaAqiStandard(), new EuCaqiStandard()), null);
+
+        Random random = new Random(42);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            pm25[i] = random.nextDouble() * 300;
+            pm10[i] = random.nextDouble() * 400;
+            co[i] = random.nextDouble() * 20_000;
+            no2[i] = random.nextDouble() * 200;
+            so2[i] = random.nextDouble() * 150;
+            o3[i] = random.nextDouble() * 250;
+        }
+    }
+
+    @Benchmark
+    public int calculateAqi() {
+        return AQICalculator.calculateAQI(components);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void calculateAqiBatch(Blackhole blackhole) {
+        AQICalculator.calculateAQI(pm25, pm10, co, no2, so2, o3, out, BATCH_SIZE);
+        blackhole.consume(out);
+    }
+
+    @Benchmark
+    public AqiBreakdown calculateCpcbBreakdown() {
+        return aqiEngine.calculate(IndiaCpcbAqiStandard.CODE, components, null, null);
+    }
+}
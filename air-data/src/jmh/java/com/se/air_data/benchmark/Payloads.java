@@ -0,0 +1,43 @@
+package com.se.air_data.benchmark;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.se.air_data.model.AirQualityResponse;
+import com.se.air_data.model.Components;
+
+/**
+ * Recorded provider responses and an ObjectMapper configured the way Spring Boot builds it
+ */
+final class Payloads {
+
+    static final byte[] OPENWEATHER = load("openweather-air-pollution.json");
+    static final byte[] GOOGLE = load("google-current-conditions.json");
+
+    private Payloads() {
+    }
+
+    static ObjectMapper objectMapper() {
+        return Jackson2ObjectMapperBuilder.json().build();
+    }
+
+    static Components components() {
+        try {
+            return objectMapper().readValue(OPENWEATHER, AirQualityResponse.class).getList().get(0).getComponents();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static byte[] load(String name) {
+        try (InputStream in = Payloads.class.getResourceAsStream("/payloads/" + name)) {
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
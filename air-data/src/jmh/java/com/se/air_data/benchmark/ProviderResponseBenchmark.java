@@ -0,0 +1,44 @@
+package com.se.air_data.benchmark;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.se.air_data.model.AirQualityResponse;
+import com.se.air_data.model.GoogleAirQualityResponse;
+
+/**
+ * Jackson deserialization of the Google and OpenWeather responses, as RestTemplate does it
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ProviderResponseBenchmark {
+
+    private ObjectReader googleReader;
+    private ObjectReader openWeatherReader;
+
+    @Setup
+    public void setUp() {
+        googleReader = Payloads.objectMapper().readerFor(GoogleAirQualityResponse.class);
+        openWeatherReader = Payloads.objectMapper().readerFor(AirQualityResponse.class);
+    }
+
+    @Benchmark
+    public GoogleAirQualityResponse readGoogleResponse() throws IOException {
+        return googleReader.readValue(Payloads.GOOGLE);
+    }
+
+    @Benchmark
+    public AirQualityResponse readOpenWeatherResponse() throws IOException {
+        return openWeatherReader.readValue(Payloads.OPENWEATHER);
+    }
+}
@@ -1,14 +1,78 @@
 package com.se.air_data.config;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+
 @Configuration
 public class AppConfig {
 
+	// Pooled keep-alive connections to Google/OpenWeather, so TLS handshakes are paid once per connection
+	@Bean(destroyMethod = "close")
+	public PoolingHttpClientConnectionManager providerConnectionManager(
+			@Value("${air-quality.http.max-total:50}") int maxTotal,
+			@Value("${air-quality.http.max-per-route:20}") int maxPerRoute,
+			@Value("${air-quality.http.connect-timeout-ms:2000}") long connectTimeoutMs,
+			@Value("${air-quality.http.read-timeout-ms:5000}") long readTimeoutMs,
+			@Value("${air-quality.http.connection-ttl-minutes:5}") long connectionTtlMinutes) {
+		return PoolingHttpClientConnectionManagerBuilder.create()
+				.setMaxConnTotal(maxTotal)
+				.setMaxConnPerRoute(maxPerRoute)
+				.setDefaultConnectionConfig(ConnectionConfig.custom()
+						.setConnectTimeout(Timeout.ofMilliseconds(connectTimeoutMs))
+						.setSocketTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+						.setTimeToLive(TimeValue.ofMinutes(connectionTtlMinutes))
+						.setValidateAfterInactivity(TimeValue.ofSeconds(10))
+						.build())
+				.build();
+	}
+
+	@Bean(destroyMethod = "close")
+	public CloseableHttpClient providerHttpClient(PoolingHttpClientConnectionManager providerConnectionManager,
+			@Value("${air-quality.http.read-timeout-ms:5000}") long readTimeoutMs,
+			@Value("${air-quality.http.pool-timeout-ms:1000}") long poolTimeoutMs,
+			@Value("${air-quality.http.idle-evict-seconds:30}") long idleEvictSeconds) {
+		return HttpClients.custom()
+				.setConnectionManager(providerConnectionManager)
+				.setDefaultRequestConfig(RequestConfig.custom()
+						.setConnectionRequestTimeout(Timeout.ofMilliseconds(poolTimeoutMs))
+						.setResponseTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+						.build())
+				.evictExpiredConnections()
+				.evictIdleConnections(TimeValue.ofSeconds(idleEvictSeconds))
+				.build();
+	}
+
 	@Bean
-	public RestTemplate restTemplate() {
-		return new RestTemplate();
+	public RestTemplate restTemplate(CloseableHttpClient providerHttpClient) {
+		return new RestTemplate(new HttpComponentsClientHttpRequestFactory(providerHttpClient));
+	}
+
+	// Pool utilization under /actuator/metrics/httpcomponents.httpclient.pool.*
+	@Bean
+	public MeterBinder providerConnectionPoolMetrics(PoolingHttpClientConnectionManager providerConnectionManager) {
+		return new PoolingHttpClientConnectionManagerMetricsBinder(providerConnectionManager, "providers");
+	}
+
+	// Virtual threads for the blocking Google/OpenWeather calls made in parallel
+	@Bean(name = "providerExecutor", destroyMethod = "shutdown")
+	public ExecutorService providerExecutor() {
+		return Executors.newVirtualThreadPerTaskExecutor();
 	}
 }
@@ -0,0 +1,33 @@
+package com.se.air_data.config;
+
+import java.util.Properties;
+
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.ConsumerFactory;
+
+@Configuration
+public class KafkaConsumerConfig {
+
+	/**
+	 * Container factory delivering a whole poll of coordinate messages to one listener call
+	 */
+	@Bean
+	@ConditionalOnProperty(name = "air-quality.ingest.batch.enabled", havingValue = "true")
+	public ConcurrentKafkaListenerContainerFactory<Object, Object> batchKafkaListenerContainerFactory(
+			ConsumerFactory<Object, Object> consumerFactory,
+			@Value("${air-quality.ingest.batch.max-poll-records:200}") int maxPollRecords) {
+		ConcurrentKafkaListenerContainerFactory<Object, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
+		factory.setConsumerFactory(consumerFactory);
+		factory.setBatchListener(true);
+
+		Properties consumerProperties = new Properties();
+		consumerProperties.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, String.valueOf(maxPollRecords));
+		factory.getContainerProperties().setKafkaConsumerProperties(consumerProperties);
+		return factory;
+	}
+}
@@ -0,0 +1,20 @@
+package com.se.air_data.config;
+
+import org.apache.kafka.clients.admin.NewTopic;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.TopicBuilder;
+
+@Configuration
+public class KafkaTopicConfig {
+
+	// Enough partitions for per-location records to spread over scheduler replicas
+	@Bean
+	public NewTopic locationsTopic(@Value("${kafka.topic.locations}") String locationsTopic,
+			@Value("${kafka.topic.locations.partitions:6}") int partitions) {
+		return TopicBuilder.name(locationsTopic)
+				.partitions(partitions)
+				.build();
+	}
+}
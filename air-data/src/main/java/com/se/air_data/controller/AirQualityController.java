@@ -8,6 +8,7 @@ import java.util.Optional;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -17,20 +18,42 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.se.air_data.entity.AirQualityData;
 import com.se.air_data.model.AQIResult;
+import com.se.air_data.model.AirQualityPage;
+import com.se.air_data.model.AirQualitySummary;
+import com.se.air_data.model.AqiTrendBucket;
+import com.se.air_data.model.TrendInterval;
+import com.se.air_data.service.AirQualityPageService;
+import com.se.air_data.service.AirQualityRollupService;
 import com.se.air_data.service.AirQualityService;
+import com.se.air_data.service.AirQualityStreamService;
+import com.se.air_data.service.AqiTrendService;
 
 @RestController
 @RequestMapping("/api/air-quality")
 public class AirQualityController {
 
+    private static final String NDJSON = MediaType.APPLICATION_NDJSON_VALUE;
+
     private final AirQualityService airQualityService;
+    private final AqiTrendService aqiTrendService;
+    private final AirQualityRollupService airQualityRollupService;
+    private final AirQualityStreamService airQualityStreamService;
+    private final AirQualityPageService airQualityPageService;
     
     @Autowired
-    public AirQualityController(AirQualityService airQualityService) {
+    public AirQualityController(AirQualityService airQualityService, AqiTrendService aqiTrendService,
+                                AirQualityRollupService airQualityRollupService,
+                                AirQualityStreamService airQualityStreamService,
+                                AirQualityPageService airQualityPageService) {
         this.airQualityService = airQualityService;
+        this.aqiTrendService = aqiTrendService;
+        this.airQualityRollupService = airQualityRollupService;
+        this.airQualityStreamService = airQualityStreamService;
+        this.airQualityPageService = airQualityPageService;
     }
     
     
@@ -98,6 +121,57 @@ public class AirQualityController {
         return new ResponseEntity<>(dataList, HttpStatus.OK);
     }
     
+    // Streaming variants (Accept: application/x-ndjson) read from a Mongo cursor with constant memory
+    
+    @GetMapping(value = "/all", produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> streamAllAirQualityData(
+            @RequestParam(value = "limit", required = false) Integer limit) {
+        return ndjson(airQualityStreamService.streamAll(limit));
+    }
+    
+    // The full collection is only served as a stream; without this /all would fall through to /{id}
+    @GetMapping("/all")
+    public ResponseEntity<Void> rejectNonStreamingAll() {
+        return new ResponseEntity<>(HttpStatus.NOT_ACCEPTABLE);
+    }
+    
+    @GetMapping(value = "/location", produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> streamAirQualityDataByLocation(
+            @RequestParam(value = "city", required = false) String city,
+            @RequestParam(value = "state", required = false) String state,
+            @RequestParam(value = "limit", required = false) Integer limit) {
+        if (city == null && state == null) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        return ndjson(airQualityStreamService.streamByLocation(city, state, limit));
+    }
+    
+    @GetMapping(value = "/aqi-range", produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> streamAirQualityDataByAqiRange(
+            @RequestParam("minAqi") int minAqi, @RequestParam("maxAqi") int maxAqi,
+            @RequestParam(value = "limit", required = false) Integer limit) {
+        return ndjson(airQualityStreamService.streamByAqiRange(minAqi, maxAqi, limit));
+    }
+    
+    @GetMapping(value = "/date-range", produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> streamAirQualityDataByDateRange(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @RequestParam(value = "limit", required = false) Integer limit) {
+        return ndjson(airQualityStreamService.streamByDateRange(startDate, endDate, limit));
+    }
+    
+    @GetMapping(value = "/alerts", produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> streamCitiesWithHighAqi(
+            @RequestParam("threshold") int threshold,
+            @RequestParam(value = "limit", required = false) Integer limit) {
+        return ndjson(airQualityStreamService.streamCitiesWithHighAqi(threshold, limit));
+    }
+    
+    private ResponseEntity<StreamingResponseBody> ndjson(StreamingResponseBody body) {
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+    
     // Get air quality data by AQI range
     @GetMapping("/aqi-range")
     public ResponseEntity<List<AirQualityData>> getAirQualityDataByAqiRange(
@@ -115,6 +189,83 @@ public class AirQualityController {
         return new ResponseEntity<>(dataList, HttpStatus.OK);
     }
     
+    // Keyset-paged variants; pass the returned nextToken as token to fetch the following page
+    
+    @GetMapping("/location/page")
+    public ResponseEntity<AirQualityPage> getAirQualityPageByLocation(
+            @RequestParam(value = "city", required = false) String city,
+            @RequestParam(value = "state", required = false) String state,
+            @RequestParam(value = "size", required = false) Integer size,
+            @RequestParam(value = "token", required = false) String token) {
+        if (city == null && state == null) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        try {
+            return new ResponseEntity<>(airQualityPageService.getPageByLocation(city, state, size, token), HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+    
+    @GetMapping("/aqi-range/page")
+    public ResponseEntity<AirQualityPage> getAirQualityPageByAqiRange(
+            @RequestParam("minAqi") int minAqi, @RequestParam("maxAqi") int maxAqi,
+            @RequestParam(value = "size", required = false) Integer size,
+            @RequestParam(value = "token", required = false) String token) {
+        try {
+            return new ResponseEntity<>(airQualityPageService.getPageByAqiRange(minAqi, maxAqi, size, token), HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+    
+    @GetMapping("/date-range/page")
+    public ResponseEntity<AirQualityPage> getAirQualityPageByDateRange(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @RequestParam(value = "size", required = false) Integer size,
+            @RequestParam(value = "token", required = false) String token) {
+        try {
+            return new ResponseEntity<>(airQualityPageService.getPageByDateRange(startDate, endDate, size, token), HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+    
+    // Get bucketed AQI and pollutant statistics for a city (interval: hour, day, week or auto from the span)
+    @GetMapping("/trend")
+    public ResponseEntity<List<AqiTrendBucket>> getAqiTrend(
+            @RequestParam("city") String city,
+            @RequestParam(value = "state", required = false) String state,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @RequestParam(value = "interval", defaultValue = "auto") String interval) {
+        TrendInterval trendInterval;
+        try {
+            trendInterval = "auto".equalsIgnoreCase(interval)
+                ? TrendInterval.forSpan(startDate, endDate)
+                : TrendInterval.valueOf(interval.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        List<AqiTrendBucket> buckets = aqiTrendService.getAqiTrend(city, state, startDate, endDate, trendInterval);
+        return new ResponseEntity<>(buckets, HttpStatus.OK);
+    }
+    
+    // Get history for a location, from raw readings or hourly/daily rollups depending on the span
+    @GetMapping("/history")
+    public ResponseEntity<List<AirQualitySummary>> getAirQualityHistory(
+            @RequestParam(value = "city", required = false) String city,
+            @RequestParam(value = "state", required = false) String state,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
+        if ((city == null) != (state == null) || endDate.isBefore(startDate)) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        List<AirQualitySummary> history = airQualityRollupService.getHistory(city, state, startDate, endDate);
+        return new ResponseEntity<>(history, HttpStatus.OK);
+    }
+    
     // Get cities with high AQI (for alerts)
     @GetMapping("/alerts")
     public ResponseEntity<List<AirQualityData>> getCitiesWithHighAqi(@RequestParam("threshold") int threshold) {
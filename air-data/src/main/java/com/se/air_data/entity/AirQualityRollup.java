@@ -0,0 +1,135 @@
+package com.se.air_data.entity;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.data.annotation.Id;
+
+/**
+ * Pre-aggregated summary of the readings of one location within an hour or a day.
+ * Stored in the collection of its {@link com.se.air_data.model.RollupGranularity}.
+ */
+public class AirQualityRollup {
+
+    @Id
+    private String id;
+
+    private AirQualityData.Location location;
+    private LocalDateTime bucketStart;
+    private long count;
+    private LocalDateTime lastTimestamp;
+
+    // Keyed by "aqi" and the component names (co, no, no2, o3, so2, pm2_5, pm10, nh3)
+    private Map<String, MetricStats> metrics = new LinkedHashMap<>();
+
+    // Default constructor required for MongoDB
+    public AirQualityRollup() {
+    }
+
+    public AirQualityRollup(String id, AirQualityData.Location location, LocalDateTime bucketStart) {
+        this.id = id;
+        this.location = location;
+        this.bucketStart = bucketStart;
+    }
+
+    // Running statistics for one metric
+    public static class MetricStats {
+        private double sum;
+        private double min;
+        private double max;
+        private double last;
+
+        // Default constructor
+        public MetricStats() {
+        }
+
+        public MetricStats(double sum, double min, double max, double last) {
+            this.sum = sum;
+            this.min = min;
+            this.max = max;
+            this.last = last;
+        }
+
+        public double getSum() {
+            return sum;
+        }
+
+        public void setSum(double sum) {
+            this.sum = sum;
+        }
+
+        public double getMin() {
+            return min;
+        }
+
+        public void setMin(double min) {
+            this.min = min;
+        }
+
+        public double getMax() {
+            return max;
+        }
+
+        public void setMax(double max) {
+            this.max = max;
+        }
+
+        public double getLast() {
+            return last;
+        }
+
+        public void setLast(double last) {
+            this.last = last;
+        }
+    }
+
+    // Getters and Setters
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public AirQualityData.Location getLocation() {
+        return location;
+    }
+
+    public void setLocation(AirQualityData.Location location) {
+        this.location = location;
+    }
+
+    public LocalDateTime getBucketStart() {
+        return bucketStart;
+    }
+
+    public void setBucketStart(LocalDateTime bucketStart) {
+        this.bucketStart = bucketStart;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+
+    public LocalDateTime getLastTimestamp() {
+        return lastTimestamp;
+    }
+
+    public void setLastTimestamp(LocalDateTime lastTimestamp) {
+        this.lastTimestamp = lastTimestamp;
+    }
+
+    public Map<String, MetricStats> getMetrics() {
+        return metrics;
+    }
+
+    public void setMetrics(Map<String, MetricStats> metrics) {
+        this.metrics = metrics;
+    }
+}
@@ -0,0 +1,72 @@
+package com.se.air_data.entity;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+// One document per distinct (city, state) that has ever received a reading
+@Document(collection = "locations")
+@CompoundIndex(name = "city_state_unique_idx", def = "{'city': 1, 'state': 1}", unique = true)
+public class TrackedLocation {
+
+    @Id
+    private String id;
+
+    private String city;
+    private String state;
+    private LocalDateTime firstSeen;
+
+    // Default constructor required for MongoDB
+    public TrackedLocation() {
+    }
+
+    public TrackedLocation(String city, String state) {
+        this.city = city;
+        this.state = state;
+        this.firstSeen = LocalDateTime.now();
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getCity() {
+        return city;
+    }
+
+    public void setCity(String city) {
+        this.city = city;
+    }
+
+    public String getState() {
+        return state;
+    }
+
+    public void setState(String state) {
+        this.state = state;
+    }
+
+    public LocalDateTime getFirstSeen() {
+        return firstSeen;
+    }
+
+    public void setFirstSeen(LocalDateTime firstSeen) {
+        this.firstSeen = firstSeen;
+    }
+
+    @Override
+    public String toString() {
+        return "TrackedLocation{" +
+                "id='" + id + '\'' +
+                ", city='" + city + '\'' +
+                ", state='" + state + '\'' +
+                ", firstSeen=" + firstSeen +
+                '}';
+    }
+}
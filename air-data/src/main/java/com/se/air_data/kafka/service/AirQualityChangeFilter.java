@@ -0,0 +1,124 @@
+package com.se.air_data.kafka.service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.se.air_data.entity.AirQualityData;
+import com.se.air_data.service.AqiEngine;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Decides per location whether a reading differs enough from the last published one to be
+ * worth publishing. A reading is published when there is no previous one, the heartbeat
+ * interval has passed, the AQI category changed, the AQI moved by more than the AQI
+ * epsilon, or any component moved by more than max(absolute, relative * previous).
+ */
+@Component
+public class AirQualityChangeFilter {
+
+    private final AqiEngine aqiEngine;
+    private final Clock clock;
+    private final Counter suppressed;
+
+    // Last published reading per city|state
+    private final ConcurrentHashMap<String, Snapshot> lastPublished = new ConcurrentHashMap<>();
+
+    @Value("${air-quality.publish.change-filter.enabled:false}")
+    private boolean enabled;
+
+    @Value("${air-quality.publish.change-filter.aqi-epsilon:5}")
+    private int aqiEpsilon = 5;
+
+    // µg/m³
+    @Value("${air-quality.publish.change-filter.absolute-epsilon:1.0}")
+    private double absoluteEpsilon = 1.0;
+
+    @Value("${air-quality.publish.change-filter.relative-epsilon:0.1}")
+    private double relativeEpsilon = 0.1;
+
+    @Value("${air-quality.publish.change-filter.heartbeat-minutes:60}")
+    private long heartbeatMinutes = 60;
+
+    @Autowired
+    public AirQualityChangeFilter(AqiEngine aqiEngine, MeterRegistry meterRegistry) {
+        this(aqiEngine, meterRegistry, Clock.systemUTC());
+    }
+
+    public AirQualityChangeFilter(AqiEngine aqiEngine, MeterRegistry meterRegistry, Clock clock) {
+        this.aqiEngine = aqiEngine;
+        this.clock = clock;
+        this.suppressed = Counter.builder("air_quality.publish.suppressed")
+            .description("Readings not published because they did not change materially")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Returns true when the reading should be published, and then remembers it as the
+     * location's last published reading
+     */
+    public boolean shouldPublish(String key, AirQualityData data) {
+        if (!enabled || data.getComponents() == null) {
+            return true;
+        }
+        Snapshot candidate = new Snapshot(data, data.getAqi(), values(data.getComponents()), clock.millis());
+        boolean[] publish = new boolean[1];
+        lastPublished.compute(key, (k, previous) -> {
+            publish[0] = previous == null || changed(previous, candidate);
+            return publish[0] ? candidate : previous;
+        });
+        if (!publish[0]) {
+            suppressed.increment();
+        }
+        return publish[0];
+    }
+
+    /**
+     * Forgets a location's last published reading when its publish failed, so the next
+     * reading is re-sent. Does nothing if a newer reading has been published since, which
+     * would otherwise be dropped and let an unchanged reading through.
+     */
+    public void forget(String key, AirQualityData data) {
+        Snapshot snapshot = lastPublished.get(key);
+        if (snapshot != null && snapshot.reading == data) {
+            lastPublished.remove(key, snapshot);
+        }
+    }
+
+    private boolean changed(Snapshot previous, Snapshot current) {
+        if (current.publishedAt - previous.publishedAt >= Duration.ofMinutes(heartbeatMinutes).toMillis()) {
+            return true;
+        }
+        if (aqiEngine.getDefaultStandard().getCategory(current.aqi)
+                != aqiEngine.getDefaultStandard().getCategory(previous.aqi)) {
+            return true;
+        }
+        if (Math.abs(current.aqi - previous.aqi) > aqiEpsilon) {
+            return true;
+        }
+        for (int i = 0; i < current.components.length; i++) {
+            double threshold = Math.max(absoluteEpsilon, relativeEpsilon * Math.abs(previous.components[i]));
+            if (Math.abs(current.components[i] - previous.components[i]) > threshold) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static double[] values(AirQualityData.Components components) {
+        return new double[] {
+            components.getCo(), components.getNo(), components.getNo2(), components.getO3(),
+            components.getSo2(), components.getPm2_5(), components.getPm10(), components.getNh3()
+        };
+    }
+
+    // reading identifies which publish the snapshot belongs to
+    private record Snapshot(AirQualityData reading, int aqi, double[] components, long publishedAt) {
+    }
+}
@@ -1,6 +1,7 @@
 package com.se.air_data.kafka.service;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.slf4j.Logger;
@@ -12,6 +13,9 @@ import org.springframework.stereotype.Service;
 
 import com.se.air_data.entity.AirQualityData;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
 @Service
 public class AirQualityPublisher {
 
@@ -21,16 +25,83 @@ public class AirQualityPublisher {
     private String airQualityTopic;
 
     private final KafkaTemplate<String, Map<String, Object>> kafkaTemplate;
+    private final AirQualityChangeFilter airQualityChangeFilter;
+    private final Counter sent;
+    private final Counter failed;
 
     @Autowired
-    public AirQualityPublisher(KafkaTemplate<String, Map<String, Object>> kafkaTemplate) {
+    public AirQualityPublisher(KafkaTemplate<String, Map<String, Object>> kafkaTemplate,
+                               AirQualityChangeFilter airQualityChangeFilter, MeterRegistry meterRegistry) {
         this.kafkaTemplate = kafkaTemplate;
+        this.airQualityChangeFilter = airQualityChangeFilter;
+        this.sent = publishCounter(meterRegistry, "success");
+        this.failed = publishCounter(meterRegistry, "failure");
     }
 
     /**
-     * Sends air quality data to ML component for disease prediction
+     * Sends air quality data to ML component for disease prediction. Records are keyed by
+     * city|state so every reading of a location lands on the same partition, in order.
+     * The send does not block; the outcome is logged and counted when the broker acks.
+     * Readings that did not change materially since the last publish are skipped.
      */
     public void publishAirQualityData(AirQualityData data) {
+        if (!airQualityChangeFilter.shouldPublish(keyOf(data), data)) {
+            logger.info("Air quality for {}, {} unchanged, not publishing",
+                data.getLocation().getCity(), data.getLocation().getState());
+            return;
+        }
+        logger.info("Publishing air quality data for {}, {} to ML component",
+            data.getLocation().getCity(), data.getLocation().getState());
+        send(data);
+    }
+    
+    /**
+     * Sends a batch of readings; records share producer batches through linger.ms
+     */
+    public void publishAirQualityDataBatch(List<AirQualityData> dataList) {
+        int published = 0;
+        for (AirQualityData data : dataList) {
+            if (airQualityChangeFilter.shouldPublish(keyOf(data), data)) {
+                send(data);
+                published++;
+            }
+        }
+        logger.info("Published {} of {} air quality records to ML component", published, dataList.size());
+    }
+    
+    public static String keyOf(AirQualityData data) {
+        return data.getLocation().getCity() + "|" + data.getLocation().getState();
+    }
+    
+    private void send(AirQualityData data) {
+        String key = keyOf(data);
+        kafkaTemplate.send(airQualityTopic, key, toPayload(data))
+            .whenComplete((result, ex) -> onComplete(key, data, ex));
+    }
+    
+    private void onComplete(String key, AirQualityData data, Throwable ex) {
+        if (ex == null) {
+            sent.increment();
+            logger.debug("Air quality data for {} published successfully", key);
+            return;
+        }
+        failed.increment();
+        // Let the next reading through instead of suppressing it against one that never arrived
+        airQualityChangeFilter.forget(key, data);
+        logger.error("Failed to publish air quality data for {}: {}", key, ex.getMessage());
+    }
+    
+    private static Counter publishCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("air_quality.publish.records")
+            .description("Air quality records acknowledged or rejected by the broker")
+            .tag("result", result)
+            .register(meterRegistry);
+    }
+    
+    /**
+     * Builds the message payload consumed by the ML component and the backend
+     */
+    public Map<String, Object> toPayload(AirQualityData data) {
         Map<String, Object> airQualityMap = new HashMap<>();
         
         // Add location information
@@ -49,11 +120,6 @@ public class AirQualityPublisher {
         
         // Add AQI value
         airQualityMap.put("aqi", data.getAqi());
-        
-        logger.info("Publishing air quality data for {}, {} to ML component", 
-            data.getLocation().getCity(), data.getLocation().getState());
-        
-        kafkaTemplate.send(airQualityTopic, airQualityMap);
-        logger.info("Air quality data published successfully");
+        return airQualityMap;
     }
 }
\ No newline at end of file
@@ -0,0 +1,119 @@
+package com.se.air_data.kafka.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Service;
+
+import com.se.air_data.entity.AirQualityData;
+import com.se.air_data.model.AQIResult;
+import com.se.air_data.service.AirQualityService;
+
+/**
+ * Batch variant of {@link CoordinatesProcessingConsumer}: fetches a poll's worth of
+ * coordinates concurrently, bulk-inserts the readings and publishes them as one batch.
+ */
+@Service
+@ConditionalOnProperty(name = "air-quality.ingest.batch.enabled", havingValue = "true")
+public class CoordinatesBatchProcessingConsumer {
+
+    private static final Logger logger = LoggerFactory.getLogger(CoordinatesBatchProcessingConsumer.class);
+
+    private final AirQualityService airQualityService;
+    private final AirQualityPublisher airQualityPublisher;
+    private final ExecutorService providerExecutor;
+
+    // Bounds the number of locations being fetched from the providers at once
+    private final Semaphore fetchPermits;
+
+    @Autowired
+    public CoordinatesBatchProcessingConsumer(AirQualityService airQualityService,
+                                              AirQualityPublisher airQualityPublisher,
+                                              @Qualifier("providerExecutor") ExecutorService providerExecutor,
+                                              @Value("${air-quality.ingest.batch.max-concurrency:8}") int maxConcurrency) {
+        this.airQualityService = airQualityService;
+        this.airQualityPublisher = airQualityPublisher;
+        this.providerExecutor = providerExecutor;
+        this.fetchPermits = new Semaphore(maxConcurrency);
+    }
+
+    /**
+     * Receives a batch of coordinates from Kafka, fetches and saves their air quality data
+     * in bulk, then publishes the saved readings to the ML component
+     */
+    @KafkaListener(topics = "${kafka.topic.coordinates}", containerFactory = "batchKafkaListenerContainerFactory")
+    public void processCoordinatesBatch(List<Map<String, Object>> coordinatesMaps) {
+        logger.info("Processing batch of {} coordinates", coordinatesMaps.size());
+
+        List<CompletableFuture<AirQualityData>> fetches = new ArrayList<>(coordinatesMaps.size());
+        for (Map<String, Object> coordinatesMap : coordinatesMaps) {
+            fetches.add(CompletableFuture.supplyAsync(() -> fetch(coordinatesMap), providerExecutor));
+        }
+
+        List<AirQualityData> readings = new ArrayList<>(fetches.size());
+        for (CompletableFuture<AirQualityData> fetch : fetches) {
+            AirQualityData data = fetch.join();
+            if (data != null) {
+                readings.add(data);
+            }
+        }
+
+        if (readings.isEmpty()) {
+            logger.warn("No air quality data fetched for batch of {} coordinates", coordinatesMaps.size());
+            return;
+        }
+
+        try {
+            List<AirQualityData> savedData = airQualityService.saveAllAirQualityData(readings);
+            logger.info("Saved {} air quality readings in bulk", savedData.size());
+
+            // Send to ML component for disease prediction
+            airQualityPublisher.publishAirQualityDataBatch(savedData);
+        } catch (Exception e) {
+            logger.error("Error saving/publishing batch of {} air quality readings: {}",
+                readings.size(), e.getMessage(), e);
+        }
+    }
+
+    // Fetches one location, returning null when it cannot be stored
+    private AirQualityData fetch(Map<String, Object> coordinatesMap) {
+        String city = (String) coordinatesMap.get("city");
+        String state = (String) coordinatesMap.get("state");
+
+        try {
+            double latitude = ((Number) coordinatesMap.get("latitude")).doubleValue();
+            double longitude = ((Number) coordinatesMap.get("longitude")).doubleValue();
+
+            fetchPermits.acquire();
+            AQIResult airQuality;
+            try {
+                airQuality = airQualityService.getAirQuality(latitude, longitude, city, state);
+            } finally {
+                fetchPermits.release();
+            }
+
+            if (airQuality.getComponents() == null) {
+                logger.warn("Skipping partial air quality result without components for {}, {}", city, state);
+                return null;
+            }
+            return CoordinatesProcessingConsumer.toAirQualityData(city, state, airQuality);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (Exception e) {
+            logger.error("Error fetching air quality data for {}, {}: {}", city, state, e.getMessage(), e);
+            return null;
+        }
+    }
+}
@@ -5,6 +5,7 @@ import java.util.Map;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Service;
 
@@ -14,6 +15,7 @@ import com.se.air_data.model.AQIResult;
 import com.se.air_data.service.AirQualityService;
 
 @Service
+@ConditionalOnProperty(name = "air-quality.ingest.batch.enabled", havingValue = "false", matchIfMissing = true)
 public class CoordinatesProcessingConsumer {
 
     private static final Logger logger = LoggerFactory.getLogger(CoordinatesProcessingConsumer.class);
@@ -44,24 +46,16 @@ public class CoordinatesProcessingConsumer {
         
         try {
             // Get air quality data using the coordinates
-            AQIResult airQuality = airQualityService.getAirQuality(latitude, longitude);
+            AQIResult airQuality = airQualityService.getAirQuality(latitude, longitude, city, state);
+            
+            // Components are required downstream, skip readings where OpenWeather timed out
+            if (airQuality.getComponents() == null) {
+                logger.warn("Skipping partial air quality result without components for {}, {}", city, state);
+                return;
+            }
             
             // Create new AirQualityData entity
-            AirQualityData.Location location = new AirQualityData.Location(city, state);
-            AirQualityData data = new AirQualityData(
-                new Components(
-                    airQuality.getComponents().getCo(),
-                    airQuality.getComponents().getNo(),
-                    airQuality.getComponents().getNo2(),
-                    airQuality.getComponents().getO3(),
-                    airQuality.getComponents().getSo2(),
-                    airQuality.getComponents().getPm2_5(),
-                    airQuality.getComponents().getPm10(),
-                    airQuality.getComponents().getNh3()
-                ),
-                airQuality.getAqi(),
-                location
-            );
+            AirQualityData data = toAirQualityData(city, state, airQuality);
             
             // Save to database
             AirQualityData savedData = airQualityService.saveAirQualityData(data);
@@ -74,4 +68,25 @@ public class CoordinatesProcessingConsumer {
                 city, state, e.getMessage(), e);
         }
     }
+    
+    /**
+     * Builds the entity stored for a location from the fetched provider result
+     */
+    public static AirQualityData toAirQualityData(String city, String state, AQIResult airQuality) {
+        AirQualityData.Location location = new AirQualityData.Location(city, state);
+        return new AirQualityData(
+            new Components(
+                airQuality.getComponents().getCo(),
+                airQuality.getComponents().getNo(),
+                airQuality.getComponents().getNo2(),
+                airQuality.getComponents().getO3(),
+                airQuality.getComponents().getSo2(),
+                airQuality.getComponents().getPm2_5(),
+                airQuality.getComponents().getPm10(),
+                airQuality.getComponents().getNh3()
+            ),
+            airQuality.getAqi(),
+            location
+        );
+    }
 }
\ No newline at end of file
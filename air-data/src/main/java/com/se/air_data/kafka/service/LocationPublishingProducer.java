@@ -20,9 +20,15 @@ public class LocationPublishingProducer {
 
     private static final Logger logger = LoggerFactory.getLogger(LocationPublishingProducer.class);
 
+    public static final String MODE_LIST = "list";
+    public static final String MODE_PER_LOCATION = "per-location";
+
     @Value("${kafka.topic.locations}")
     private String locationsTopic;
 
+    @Value("${kafka.publish.locations.mode:" + MODE_LIST + "}")
+    private String publishMode = MODE_LIST;
+
     private final KafkaTemplate<String, Object> kafkaTemplate;
     private final AirQualityService airQualityService;
 
@@ -37,19 +43,44 @@ public class LocationPublishingProducer {
      */
     public void publishUniqueLocations() {
         List<AirQualityData.Location> locations = airQualityService.getAllUniqueLocations();
-        logger.info("Publishing {} unique locations to Kafka", locations.size());
+        logger.info("Publishing {} unique locations to Kafka in {} mode", locations.size(), publishMode);
+        
+        if (MODE_PER_LOCATION.equals(publishMode)) {
+            publishPerLocation(locations);
+            return;
+        }
         
         // Convert locations to a list of maps before sending
         List<Map<String, String>> locationMaps = locations.stream()
-            .map(location -> {
-                Map<String, String> map = new HashMap<>();
-                map.put("city", location.getCity());
-                map.put("state", location.getState());
-                return map;
-            })
+            .map(this::toLocationMap)
             .collect(Collectors.toList());
         
         kafkaTemplate.send(locationsTopic, locationMaps);
         logger.info("Published unique locations to Kafka");
     }
-}
\ No newline at end of file
+
+    /**
+     * Sends one record per location keyed by city|state, so locations spread over the
+     * topic partitions while each location keeps its ordering
+     */
+    private void publishPerLocation(List<AirQualityData.Location> locations) {
+        for (AirQualityData.Location location : locations) {
+            String key = location.getCity() + "|" + location.getState();
+            kafkaTemplate.send(locationsTopic, key, toLocationMap(location))
+                .whenComplete((result, ex) -> {
+                    if (ex != null) {
+                        logger.error("Failed to publish location {}: {}", key, ex.getMessage());
+                    }
+                });
+        }
+        kafkaTemplate.flush();
+        logger.info("Published {} location records to Kafka", locations.size());
+    }
+
+    private Map<String, String> toLocationMap(AirQualityData.Location location) {
+        Map<String, String> map = new HashMap<>();
+        map.put("city", location.getCity());
+        map.put("state", location.getState());
+        return map;
+    }
+}
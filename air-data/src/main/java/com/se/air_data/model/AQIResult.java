@@ -3,10 +3,24 @@ package com.se.air_data.model;
 public class AQIResult {
     private Components components;
     private int aqi;
+    // True when one of the providers did not answer in time
+    private boolean partial;
+    // Set when the AQI was calculated locally from the components
+    private Pollutant dominantPollutant;
 
     public AQIResult(Components components, int aqi) {
+        this(components, aqi, false);
+    }
+
+    public AQIResult(Components components, int aqi, boolean partial) {
+        this(components, aqi, partial, null);
+    }
+
+    public AQIResult(Components components, int aqi, boolean partial, Pollutant dominantPollutant) {
         this.components = components;
         this.aqi = aqi;
+        this.partial = partial;
+        this.dominantPollutant = dominantPollutant;
     }
 
     public Components getComponents() {
@@ -16,4 +30,12 @@ public class AQIResult {
     public int getAqi() {
         return aqi;
     }
+
+    public boolean isPartial() {
+        return partial;
+    }
+
+    public Pollutant getDominantPollutant() {
+        return dominantPollutant;
+    }
 }
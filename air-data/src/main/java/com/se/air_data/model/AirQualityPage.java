@@ -0,0 +1,35 @@
+package com.se.air_data.model;
+
+import java.util.List;
+
+import com.se.air_data.entity.AirQualityData;
+
+public class AirQualityPage {
+    private List<AirQualityData> items;
+    // Opaque continuation token for the next page, null on the last page
+    private String nextToken;
+
+    public AirQualityPage() {
+    }
+
+    public AirQualityPage(List<AirQualityData> items, String nextToken) {
+        this.items = items;
+        this.nextToken = nextToken;
+    }
+
+    public List<AirQualityData> getItems() {
+        return items;
+    }
+
+    public void setItems(List<AirQualityData> items) {
+        this.items = items;
+    }
+
+    public String getNextToken() {
+        return nextToken;
+    }
+
+    public void setNextToken(String nextToken) {
+        this.nextToken = nextToken;
+    }
+}
@@ -0,0 +1,71 @@
+package com.se.air_data.model;
+
+import java.time.LocalDateTime;
+
+import com.se.air_data.entity.AirQualityData;
+
+// One point of a history chart: a raw reading or an hourly/daily rollup
+public class AirQualitySummary {
+    private AirQualityData.Location location;
+    private LocalDateTime bucketStart;
+    private String granularity;
+    private long count;
+    private double avgAqi;
+    private double minAqi;
+    private double maxAqi;
+    private double lastAqi;
+    private AirQualityData.Components avgComponents;
+
+    public AirQualitySummary() {
+    }
+
+    public AirQualitySummary(AirQualityData.Location location, LocalDateTime bucketStart, String granularity,
+                             long count, double avgAqi, double minAqi, double maxAqi, double lastAqi,
+                             AirQualityData.Components avgComponents) {
+        this.location = location;
+        this.bucketStart = bucketStart;
+        this.granularity = granularity;
+        this.count = count;
+        this.avgAqi = avgAqi;
+        this.minAqi = minAqi;
+        this.maxAqi = maxAqi;
+        this.lastAqi = lastAqi;
+        this.avgComponents = avgComponents;
+    }
+
+    public AirQualityData.Location getLocation() {
+        return location;
+    }
+
+    public LocalDateTime getBucketStart() {
+        return bucketStart;
+    }
+
+    public String getGranularity() {
+        return granularity;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public double getAvgAqi() {
+        return avgAqi;
+    }
+
+    public double getMinAqi() {
+        return minAqi;
+    }
+
+    public double getMaxAqi() {
+        return maxAqi;
+    }
+
+    public double getLastAqi() {
+        return lastAqi;
+    }
+
+    public AirQualityData.Components getAvgComponents() {
+        return avgComponents;
+    }
+}
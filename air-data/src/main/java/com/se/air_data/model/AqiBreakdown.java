@@ -0,0 +1,45 @@
+package com.se.air_data.model;
+
+import java.util.Map;
+
+public class AqiBreakdown {
+    private String standard;
+    private int aqi;
+    // Pollutant with the highest sub-index, null when nothing could be scored
+    private Pollutant dominantPollutant;
+    private Map<Pollutant, Integer> subIndices;
+    // Whether enough pollutants were scored for the standard to publish an index
+    private boolean valid;
+
+    public AqiBreakdown() {
+    }
+
+    public AqiBreakdown(String standard, int aqi, Pollutant dominantPollutant, Map<Pollutant, Integer> subIndices,
+                        boolean valid) {
+        this.standard = standard;
+        this.aqi = aqi;
+        this.dominantPollutant = dominantPollutant;
+        this.subIndices = subIndices;
+        this.valid = valid;
+    }
+
+    public String getStandard() {
+        return standard;
+    }
+
+    public int getAqi() {
+        return aqi;
+    }
+
+    public Pollutant getDominantPollutant() {
+        return dominantPollutant;
+    }
+
+    public Map<Pollutant, Integer> getSubIndices() {
+        return subIndices;
+    }
+
+    public boolean isValid() {
+        return valid;
+    }
+}
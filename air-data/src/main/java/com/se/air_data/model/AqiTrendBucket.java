@@ -0,0 +1,58 @@
+package com.se.air_data.model;
+
+import java.time.LocalDateTime;
+
+import com.se.air_data.entity.AirQualityData;
+
+public class AqiTrendBucket {
+    private LocalDateTime bucketStart;
+    private long count;
+    private int minAqi;
+    private int maxAqi;
+    private double avgAqi;
+    private int p95Aqi;
+    // Average concentration of each pollutant within the bucket
+    private AirQualityData.Components avgComponents;
+
+    public AqiTrendBucket() {
+    }
+
+    public AqiTrendBucket(LocalDateTime bucketStart, long count, int minAqi, int maxAqi, double avgAqi, int p95Aqi,
+                          AirQualityData.Components avgComponents) {
+        this.bucketStart = bucketStart;
+        this.count = count;
+        this.minAqi = minAqi;
+        this.maxAqi = maxAqi;
+        this.avgAqi = avgAqi;
+        this.p95Aqi = p95Aqi;
+        this.avgComponents = avgComponents;
+    }
+
+    public LocalDateTime getBucketStart() {
+        return bucketStart;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public int getMinAqi() {
+        return minAqi;
+    }
+
+    public int getMaxAqi() {
+        return maxAqi;
+    }
+
+    public double getAvgAqi() {
+        return avgAqi;
+    }
+
+    public int getP95Aqi() {
+        return p95Aqi;
+    }
+
+    public AirQualityData.Components getAvgComponents() {
+        return avgComponents;
+    }
+}
@@ -0,0 +1,37 @@
+package com.se.air_data.model;
+
+/**
+ * Pollutants scored by the AQI standards, keyed by the OpenWeather component / rollup
+ * metric name. Concentrations are in µg/m³ as reported by OpenWeather.
+ */
+public enum Pollutant {
+    PM2_5("pm2_5"),
+    PM10("pm10"),
+    NO2("no2"),
+    O3("o3"),
+    CO("co"),
+    SO2("so2"),
+    NH3("nh3");
+
+    private final String metric;
+
+    Pollutant(String metric) {
+        this.metric = metric;
+    }
+
+    public String getMetric() {
+        return metric;
+    }
+
+    public double concentration(Components components) {
+        return switch (this) {
+            case PM2_5 -> components.getPm2_5();
+            case PM10 -> components.getPm10();
+            case NO2 -> components.getNo2();
+            case O3 -> components.getO3();
+            case CO -> components.getCo();
+            case SO2 -> components.getSo2();
+            case NH3 -> components.getNh3();
+        };
+    }
+}
@@ -0,0 +1,32 @@
+package com.se.air_data.model;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+// Rollup levels with their collection and bucket size
+public enum RollupGranularity {
+    HOURLY("air_quality_rollup_hourly", ChronoUnit.HOURS, "hour"),
+    DAILY("air_quality_rollup_daily", ChronoUnit.DAYS, "day");
+
+    private final String collection;
+    private final ChronoUnit unit;
+    private final String dateTruncUnit;
+
+    RollupGranularity(String collection, ChronoUnit unit, String dateTruncUnit) {
+        this.collection = collection;
+        this.unit = unit;
+        this.dateTruncUnit = dateTruncUnit;
+    }
+
+    public String getCollection() {
+        return collection;
+    }
+
+    public String getDateTruncUnit() {
+        return dateTruncUnit;
+    }
+
+    public LocalDateTime bucketStart(LocalDateTime timestamp) {
+        return timestamp.truncatedTo(unit);
+    }
+}
@@ -0,0 +1,33 @@
+package com.se.air_data.model;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+// Bucket sizes supported by the trend aggregation, mapped to $dateTrunc units
+public enum TrendInterval {
+    HOUR("hour"),
+    DAY("day"),
+    WEEK("week");
+
+    private final String unit;
+
+    TrendInterval(String unit) {
+        this.unit = unit;
+    }
+
+    public String getUnit() {
+        return unit;
+    }
+
+    // Interval used when the caller does not pick one: hourly up to 2 days, daily up to 90 days, weekly beyond
+    public static TrendInterval forSpan(LocalDateTime startDate, LocalDateTime endDate) {
+        Duration span = Duration.between(startDate, endDate);
+        if (span.compareTo(Duration.ofDays(2)) <= 0) {
+            return HOUR;
+        }
+        if (span.compareTo(Duration.ofDays(90)) <= 0) {
+            return DAY;
+        }
+        return WEEK;
+    }
+}
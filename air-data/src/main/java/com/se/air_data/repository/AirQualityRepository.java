@@ -63,6 +63,7 @@ public interface AirQualityRepository extends MongoRepository<AirQualityData, St
            fields = "{ 'location.city': 1, 'location.state': 1, '_id': 0 }")
     List<AirQualityData> findCitiesWithAqiAbove(int threshold);
     
+    // Full-history scan, only used to seed the location registry
     @Aggregation(pipeline = {
             "{ $group: { _id: { city: '$location.city', state: '$location.state' } } }",
             "{ $project: { _id: 0, city: '$_id.city', state: '$_id.state' } }"
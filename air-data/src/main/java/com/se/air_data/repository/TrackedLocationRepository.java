@@ -0,0 +1,10 @@
+package com.se.air_data.repository;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import com.se.air_data.entity.TrackedLocation;
+
+@Repository
+public interface TrackedLocationRepository extends MongoRepository<TrackedLocation, String> {
+}
@@ -2,33 +2,54 @@ package com.se.air_data.service;
 
 import com.se.air_data.model.Components;
 
+/**
+ * US EPA AQI from OpenWeather concentrations (µg/m³; CO is converted to mg/m³). Breakpoint
+ * tables are shared with {@link UsEpaAqiStandard}, so single and batch calculations are
+ * allocation-free. Other standards go through {@link AqiEngine}.
+ */
 public class AQICalculator {
 
+    private static final BreakpointTable PM25 = UsEpaAqiStandard.PM25;
+    private static final BreakpointTable PM10 = UsEpaAqiStandard.PM10;
+    private static final BreakpointTable CO = UsEpaAqiStandard.CO;
+    private static final BreakpointTable NO2 = UsEpaAqiStandard.NO2;
+    private static final BreakpointTable SO2 = UsEpaAqiStandard.SO2;
+    private static final BreakpointTable O3 = UsEpaAqiStandard.O3;
+
+    private AQICalculator() {
+    }
+
     public static int calculateAQI(Components components) {
-        int aqiPm25 = getAQI(components.getPm2_5(), new double[]{0, 12, 35.4, 55.4, 150.4, 250.4, 500.4},
-                                                 new int[]{0, 50, 100, 150, 200, 300, 500});
-        int aqiPm10 = getAQI(components.getPm10(), new double[]{0, 54, 154, 254, 354, 424, 604},
-                                                 new int[]{0, 50, 100, 150, 200, 300, 500});
-        int aqiCO = getAQI(components.getCo() / 1000, new double[]{0, 4.4, 9.4, 12.4, 15.4, 30.4, 40.4},
-                                                 new int[]{0, 50, 100, 150, 200, 300, 500});
-        int aqiNO2 = getAQI(components.getNo2(), new double[]{0, 53, 100, 360, 649, 1249, 2049},
-                                                 new int[]{0, 50, 100, 150, 200, 300, 500});
-        int aqiSO2 = getAQI(components.getSo2(), new double[]{0, 35, 75, 185, 304, 604, 1004},
-                                                 new int[]{0, 50, 100, 150, 200, 300, 500});
-        int aqiO3 = getAQI(components.getO3(), new double[]{0, 54, 70, 85, 105, 200, 405},
-                                                 new int[]{0, 50, 100, 150, 200, 300, 500});
+        return calculateAQI(components.getPm2_5(), components.getPm10(), components.getCo(),
+                            components.getNo2(), components.getSo2(), components.getO3());
+    }
+
+    /**
+     * Concentrations as reported by OpenWeather, with CO in µg/m³
+     */
+    public static int calculateAQI(double pm25, double pm10, double co, double no2, double so2, double o3) {
+        int aqiPm25 = PM25.lookup(pm25);
+        int aqiPm10 = PM10.lookup(pm10);
+        int aqiCO = CO.lookup(co / 1000);
+        int aqiNO2 = NO2.lookup(no2);
+        int aqiSO2 = SO2.lookup(so2);
+        int aqiO3 = O3.lookup(o3);
 
         return Math.max(Math.max(aqiPm25, aqiPm10), Math.max(Math.max(aqiCO, aqiNO2), Math.max(aqiSO2, aqiO3)));
     }
 
-    private static int getAQI(double concentration, double[] breakpoints, int[] aqiValues) {
-        for (int i = 0; i < breakpoints.length - 1; i++) {
-            if (concentration <= breakpoints[i + 1]) {
-                return (int) ((aqiValues[i + 1] - aqiValues[i]) / (breakpoints[i + 1] - breakpoints[i]) * 
-                              (concentration - breakpoints[i]) + aqiValues[i]);
-            }
+    /**
+     * Batch variant over struct-of-arrays inputs for re-scoring history; fills the first
+     * {@code count} entries of {@code out} without allocating.
+     */
+    public static void calculateAQI(double[] pm25, double[] pm10, double[] co, double[] no2, double[] so2,
+                                    double[] o3, int[] out, int count) {
+        if (count < 0 || pm25.length < count || pm10.length < count || co.length < count
+                || no2.length < count || so2.length < count || o3.length < count || out.length < count) {
+            throw new IllegalArgumentException("All input arrays and the output array must hold at least count values");
+        }
+        for (int i = 0; i < count; i++) {
+            out[i] = calculateAQI(pm25[i], pm10[i], co[i], no2[i], so2[i], o3[i]);
         }
-        return 500; 
     }
 }
-
@@ -0,0 +1,122 @@
+package com.se.air_data.service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.se.air_data.model.AQIResult;
+import com.se.air_data.util.GeoHash;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * TTL + size bounded cache of provider responses keyed by geohash cell,
+ * so nearby locations within a publish cycle share one upstream fetch.
+ */
+@Component
+public class AirQualityCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(AirQualityCache.class);
+
+    private final boolean enabled;
+    private final int geohashPrecision;
+    private final long ttlNanos;
+    private final int maxSize;
+
+    // Access-ordered so the eldest entry is the least recently used one
+    private final LinkedHashMap<String, CacheEntry> entries;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter sizeEvictions;
+    private final Counter expirations;
+
+    @Autowired
+    public AirQualityCache(@Value("${air-quality.cache.enabled:true}") boolean enabled,
+                           @Value("${air-quality.cache.geohash-precision:5}") int geohashPrecision,
+                           @Value("${air-quality.cache.ttl-seconds:300}") long ttlSeconds,
+                           @Value("${air-quality.cache.max-size:10000}") int maxSize,
+                           MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.geohashPrecision = geohashPrecision;
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+        this.maxSize = maxSize;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CacheEntry> eldest) {
+                if (size() > AirQualityCache.this.maxSize) {
+                    sizeEvictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+
+        this.hits = Counter.builder("air_quality.cache.requests").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("air_quality.cache.requests").tag("result", "miss").register(meterRegistry);
+        this.sizeEvictions = Counter.builder("air_quality.cache.evictions").tag("cause", "size").register(meterRegistry);
+        this.expirations = Counter.builder("air_quality.cache.evictions").tag("cause", "expired").register(meterRegistry);
+        Gauge.builder("air_quality.cache.size", this, AirQualityCache::size).register(meterRegistry);
+
+        logger.info("Air quality cache enabled={}, geohash precision={}, ttl={}s, max size={}",
+            enabled, geohashPrecision, ttlSeconds, maxSize);
+    }
+
+    /**
+     * Returns the cached result for the grid cell containing the coordinates, or null on a miss
+     */
+    public AQIResult get(double lat, double lon) {
+        if (!enabled) {
+            return null;
+        }
+        String key = GeoHash.encode(lat, lon, geohashPrecision);
+        synchronized (entries) {
+            CacheEntry entry = entries.get(key);
+            if (entry == null) {
+                misses.increment();
+                return null;
+            }
+            if (System.nanoTime() - entry.createdAtNanos() > ttlNanos) {
+                entries.remove(key);
+                expirations.increment();
+                misses.increment();
+                return null;
+            }
+            hits.increment();
+            return entry.result();
+        }
+    }
+
+    public void put(double lat, double lon, AQIResult result) {
+        if (!enabled) {
+            return;
+        }
+        String key = GeoHash.encode(lat, lon, geohashPrecision);
+        synchronized (entries) {
+            entries.put(key, new CacheEntry(result, System.nanoTime()));
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    private record CacheEntry(AQIResult result, long createdAtNanos) {
+    }
+}
@@ -0,0 +1,157 @@
+package com.se.air_data.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import com.se.air_data.entity.AirQualityData;
+import com.se.air_data.model.AirQualityPage;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Keyset pagination over readings ordered by (timestamp desc, _id desc). Each page seeks
+ * past the last row of the previous one instead of skipping, so deep pages cost the same
+ * as the first.
+ */
+@Service
+@DependsOn("timeSeriesStorageManager")
+public class AirQualityPageService {
+
+    private static final String TOKEN_SEPARATOR = "|";
+
+    private final MongoTemplate mongoTemplate;
+    private final TimeSeriesStorageManager timeSeriesStorageManager;
+
+    @Value("${air-quality.page.default-size:100}")
+    private int defaultPageSize = 100;
+
+    @Value("${air-quality.page.max-size:1000}")
+    private int maxPageSize = 1000;
+
+    @Autowired
+    public AirQualityPageService(MongoTemplate mongoTemplate, TimeSeriesStorageManager timeSeriesStorageManager) {
+        this.mongoTemplate = mongoTemplate;
+        this.timeSeriesStorageManager = timeSeriesStorageManager;
+    }
+
+    @PostConstruct
+    public void ensureIndexes() {
+        // Every page filter gets an index of its equality fields followed by the page sort, so
+        // Mongo walks it in order and stops after one page instead of sorting the matches
+        String collection = mongoTemplate.getCollectionName(AirQualityData.class);
+        boolean timeSeries = timeSeriesStorageManager.isTimeSeries(collection);
+        // New names, so deployed databases keep location_timestamp_idx as it is; on time-series
+        // collections that index already has the (city, state, timestamp) shape and is reused
+        if (!timeSeries) {
+            ensureIndex(collection, false, "location_timestamp_id_idx", "location.city", "location.state");
+        }
+        ensureIndex(collection, timeSeries, "city_timestamp_id_idx", "location.city");
+        ensureIndex(collection, timeSeries, "state_timestamp_id_idx", "location.state");
+        // Date and AQI range pages walk this one
+        ensureIndex(collection, timeSeries, "timestamp_id_idx");
+    }
+
+    private void ensureIndex(String collection, boolean timeSeries, String name, String... equalityFields) {
+        Index index = new Index();
+        for (String field : equalityFields) {
+            index.on(field, Sort.Direction.ASC);
+        }
+        index.on("timestamp", Sort.Direction.DESC);
+        // Time-series collections only index the metaField and timeField
+        if (!timeSeries) {
+            index.on("_id", Sort.Direction.DESC);
+        }
+        mongoTemplate.indexOps(collection).ensureIndex(index.named(name));
+    }
+
+    public AirQualityPage getPageByLocation(String city, String state, Integer size, String token) {
+        Criteria criteria = new Criteria();
+        if (city != null) {
+            criteria = criteria.and("location.city").is(city);
+        }
+        if (state != null) {
+            criteria = criteria.and("location.state").is(state);
+        }
+        return page(criteria, size, token);
+    }
+
+    public AirQualityPage getPageByDateRange(LocalDateTime startDate, LocalDateTime endDate, Integer size, String token) {
+        return page(Criteria.where("timestamp").gt(startDate).lt(endDate), size, token);
+    }
+
+    public AirQualityPage getPageByAqiRange(int minAqi, int maxAqi, Integer size, String token) {
+        return page(Criteria.where("aqi").gt(minAqi).lt(maxAqi), size, token);
+    }
+
+    private AirQualityPage page(Criteria filter, Integer size, String token) {
+        int pageSize = pageSize(size);
+        Query query = new Query(filter);
+        if (token != null && !token.isBlank()) {
+            query.addCriteria(seekAfter(token));
+        }
+        query.with(Sort.by(Sort.Direction.DESC, "timestamp", "_id"));
+        // One extra row tells us whether another page exists
+        query.limit(pageSize + 1);
+
+        List<AirQualityData> rows = mongoTemplate.find(query, AirQualityData.class);
+        if (rows.size() <= pageSize) {
+            return new AirQualityPage(rows, null);
+        }
+        List<AirQualityData> items = rows.subList(0, pageSize);
+        return new AirQualityPage(items, encodeToken(items.get(pageSize - 1)));
+    }
+
+    private int pageSize(Integer size) {
+        if (size == null || size <= 0) {
+            return defaultPageSize;
+        }
+        return Math.min(size, maxPageSize);
+    }
+
+    private Criteria seekAfter(String token) {
+        String decoded;
+        try {
+            decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Malformed page token");
+        }
+        int separator = decoded.indexOf(TOKEN_SEPARATOR);
+        if (separator < 0) {
+            throw new IllegalArgumentException("Malformed page token");
+        }
+        String idHex = decoded.substring(separator + 1);
+        if (!ObjectId.isValid(idHex)) {
+            throw new IllegalArgumentException("Malformed page token");
+        }
+        LocalDateTime timestamp;
+        try {
+            timestamp = LocalDateTime.parse(decoded.substring(0, separator));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Malformed page token");
+        }
+        ObjectId id = new ObjectId(idHex);
+
+        return new Criteria().orOperator(
+            Criteria.where("timestamp").lt(timestamp),
+            new Criteria().andOperator(Criteria.where("timestamp").is(timestamp), Criteria.where("_id").lt(id)));
+    }
+
+    static String encodeToken(AirQualityData last) {
+        String raw = last.getTimestamp() + TOKEN_SEPARATOR + last.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,324 @@
+package com.se.air_data.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.se.air_data.entity.AirQualityData;
+import com.se.air_data.entity.AirQualityRollup;
+import com.se.air_data.model.AirQualitySummary;
+import com.se.air_data.model.RollupGranularity;
+import com.se.air_data.repository.AirQualityRepository;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Maintains hourly and daily rollups per location as readings arrive, repairs them
+ * from the raw readings in a background compaction, and routes history queries to
+ * raw readings or rollups depending on the requested span.
+ */
+@Service
+public class AirQualityRollupService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AirQualityRollupService.class);
+
+    private static final String[] METRICS = {"aqi", "co", "no", "no2", "o3", "so2", "pm2_5", "pm10", "nh3"};
+    private static final DateTimeFormatter ID_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH");
+    private static final int BULK_CHUNK_SIZE = 1000;
+
+    private final MongoTemplate mongoTemplate;
+    private final AirQualityRepository airQualityRepository;
+
+    @Value("${air-quality.rollup.raw-max-span-hours:48}")
+    private long rawMaxSpanHours = 48;
+
+    @Value("${air-quality.rollup.hourly-max-span-days:60}")
+    private long hourlyMaxSpanDays = 60;
+
+    @Value("${air-quality.rollup.compaction.lookback-hours:48}")
+    private long compactionLookbackHours = 48;
+
+    @Autowired
+    public AirQualityRollupService(MongoTemplate mongoTemplate, AirQualityRepository airQualityRepository) {
+        this.mongoTemplate = mongoTemplate;
+        this.airQualityRepository = airQualityRepository;
+    }
+
+    @PostConstruct
+    public void ensureIndexes() {
+        for (RollupGranularity granularity : RollupGranularity.values()) {
+            mongoTemplate.indexOps(granularity.getCollection()).ensureIndex(new Index()
+                .on("location.city", Sort.Direction.ASC)
+                .on("location.state", Sort.Direction.ASC)
+                .on("bucketStart", Sort.Direction.ASC)
+                .named("location_bucket_idx"));
+        }
+    }
+
+    /**
+     * Folds newly saved readings into their hourly and daily rollups
+     */
+    public void record(List<AirQualityData> readings) {
+        if (readings.isEmpty()) {
+            return;
+        }
+        for (RollupGranularity granularity : RollupGranularity.values()) {
+            BulkOperations bulk = mongoTemplate.bulkOps(
+                BulkOperations.BulkMode.UNORDERED, AirQualityRollup.class, granularity.getCollection());
+            for (AirQualityData reading : readings) {
+                LocalDateTime bucketStart = granularity.bucketStart(reading.getTimestamp());
+                String id = rollupId(reading.getLocation().getCity(), reading.getLocation().getState(), bucketStart);
+
+                Update update = new Update()
+                    .setOnInsert("location", reading.getLocation())
+                    .setOnInsert("bucketStart", bucketStart)
+                    .inc("count", 1)
+                    .max("lastTimestamp", reading.getTimestamp());
+                double[] values = metricValues(reading);
+                for (int i = 0; i < METRICS.length; i++) {
+                    String prefix = "metrics." + METRICS[i] + ".";
+                    update.inc(prefix + "sum", values[i])
+                        .min(prefix + "min", values[i])
+                        .max(prefix + "max", values[i])
+                        // Readings arrive in time order; late data is repaired by compaction
+                        .set(prefix + "last", values[i]);
+                }
+                bulk.upsert(Query.query(Criteria.where("_id").is(id)), update);
+            }
+            bulk.execute();
+        }
+    }
+
+    /**
+     * Recomputes the rollups of the recent past from raw readings to repair late or
+     * out-of-order data. The first run on an empty database backfills the full history.
+     */
+    @Scheduled(fixedDelayString = "${air-quality.rollup.compaction.interval-ms:3600000}",
+               initialDelayString = "${air-quality.rollup.compaction.initial-delay-ms:60000}")
+    public void compactRecent() {
+        LocalDateTime to = LocalDateTime.now();
+        LocalDateTime from;
+        if (mongoTemplate.estimatedCount(RollupGranularity.DAILY.getCollection()) == 0) {
+            from = LocalDateTime.of(1970, 1, 1, 0, 0);
+        } else {
+            // Start at midnight so the daily buckets are rebuilt completely
+            from = to.minusHours(compactionLookbackHours).truncatedTo(ChronoUnit.DAYS);
+        }
+        try {
+            compact(from, to);
+        } catch (Exception e) {
+            logger.error("Error compacting air quality rollups: {}", e.getMessage(), e);
+        }
+    }
+
+    public void compact(LocalDateTime from, LocalDateTime to) {
+        ZoneId zone = ZoneId.systemDefault();
+        for (RollupGranularity granularity : RollupGranularity.values()) {
+            Document bucket = new Document("$dateTrunc", new Document("date", "$timestamp")
+                .append("unit", granularity.getDateTruncUnit())
+                .append("timezone", zone.getId()));
+            Document group = new Document("_id", new Document("city", "$location.city")
+                    .append("state", "$location.state")
+                    .append("bucket", bucket))
+                .append("count", new Document("$sum", 1))
+                .append("lastTimestamp", new Document("$max", "$timestamp"));
+            for (String metric : METRICS) {
+                String field = "aqi".equals(metric) ? "$aqi" : "$components." + metric;
+                group.append(metric + "_sum", new Document("$sum", field))
+                    .append(metric + "_min", new Document("$min", field))
+                    .append(metric + "_max", new Document("$max", field))
+                    .append(metric + "_last", new Document("$last", field));
+            }
+
+            List<AggregationOperation> pipeline = List.of(
+                context -> new Document("$match", new Document("timestamp",
+                    new Document("$gte", Date.from(from.atZone(zone).toInstant()))
+                        .append("$lt", Date.from(to.atZone(zone).toInstant())))),
+                context -> new Document("$sort", new Document("timestamp", 1)),
+                context -> new Document("$group", group)
+            );
+
+            int written = 0;
+            BulkOperations bulk = null;
+            try (Stream<Document> results = mongoTemplate.aggregateStream(
+                    Aggregation.newAggregation(pipeline).withOptions(
+                        Aggregation.newAggregationOptions().allowDiskUse(true).build()),
+                    mongoTemplate.getCollectionName(AirQualityData.class), Document.class)) {
+                for (Document result : (Iterable<Document>) results::iterator) {
+                    if (bulk == null) {
+                        bulk = mongoTemplate.bulkOps(
+                            BulkOperations.BulkMode.UNORDERED, AirQualityRollup.class, granularity.getCollection());
+                    }
+                    AirQualityRollup rollup = toRollup(result, zone);
+                    bulk.replaceOne(Query.query(Criteria.where("_id").is(rollup.getId())), rollup,
+                        FindAndReplaceOptions.options().upsert());
+                    if (++written % BULK_CHUNK_SIZE == 0) {
+                        bulk.execute();
+                        bulk = null;
+                    }
+                }
+            }
+            if (bulk != null) {
+                bulk.execute();
+            }
+            logger.info("Compacted {} {} rollups from {} to {}", written, granularity, from, to);
+        }
+    }
+
+    /**
+     * History of a location (or of all locations when city and state are null). Short
+     * spans return raw readings, longer ones hourly rollups and the longest daily ones.
+     */
+    public List<AirQualitySummary> getHistory(String city, String state, LocalDateTime startDate, LocalDateTime endDate) {
+        RollupGranularity granularity = granularityFor(startDate, endDate);
+        if (granularity == null) {
+            List<AirQualityData> readings = findRaw(city, state, startDate, endDate);
+            List<AirQualitySummary> summaries = new ArrayList<>(readings.size());
+            for (AirQualityData reading : readings) {
+                summaries.add(new AirQualitySummary(reading.getLocation(), reading.getTimestamp(), "raw", 1,
+                    reading.getAqi(), reading.getAqi(), reading.getAqi(), reading.getAqi(), reading.getComponents()));
+            }
+            return summaries;
+        }
+
+        List<AirQualityRollup> rollups = findRollups(granularity, city, state, startDate, endDate);
+        List<AirQualitySummary> summaries = new ArrayList<>(rollups.size());
+        for (AirQualityRollup rollup : rollups) {
+            summaries.add(toSummary(rollup, granularity));
+        }
+        return summaries;
+    }
+
+    /**
+     * Same span routing as {@link #getHistory}, in the reading shape of the existing list
+     * endpoints: past the raw span each hourly/daily bucket becomes one reading stamped
+     * with the bucket start, carrying the bucket's average AQI and components and no id.
+     */
+    public List<AirQualityData> getReadings(String city, String state, LocalDateTime startDate, LocalDateTime endDate) {
+        RollupGranularity granularity = granularityFor(startDate, endDate);
+        if (granularity == null) {
+            return findRaw(city, state, startDate, endDate);
+        }
+
+        List<AirQualityRollup> rollups = findRollups(granularity, city, state, startDate, endDate);
+        List<AirQualityData> readings = new ArrayList<>(rollups.size());
+        for (AirQualityRollup rollup : rollups) {
+            AirQualitySummary summary = toSummary(rollup, granularity);
+            AirQualityData reading = new AirQualityData(summary.getAvgComponents(),
+                (int) Math.round(summary.getAvgAqi()), rollup.getLocation());
+            reading.setTimestamp(rollup.getBucketStart());
+            readings.add(reading);
+        }
+        return readings;
+    }
+
+    // Rollup level serving the span, or null when raw readings are cheap enough
+    private RollupGranularity granularityFor(LocalDateTime startDate, LocalDateTime endDate) {
+        Duration span = Duration.between(startDate, endDate);
+        if (span.compareTo(Duration.ofHours(rawMaxSpanHours)) <= 0) {
+            return null;
+        }
+        return span.compareTo(Duration.ofDays(hourlyMaxSpanDays)) <= 0 ? RollupGranularity.HOURLY : RollupGranularity.DAILY;
+    }
+
+    private List<AirQualityData> findRaw(String city, String state, LocalDateTime startDate, LocalDateTime endDate) {
+        return city != null && state != null
+            ? airQualityRepository.findByLocationCityAndLocationStateAndTimestampBetween(city, state, startDate, endDate)
+            : airQualityRepository.findByTimestampBetween(startDate, endDate);
+    }
+
+    private List<AirQualityRollup> findRollups(RollupGranularity granularity, String city, String state,
+                                               LocalDateTime startDate, LocalDateTime endDate) {
+        Criteria criteria = Criteria.where("bucketStart")
+            .gte(granularity.bucketStart(startDate)).lte(endDate);
+        if (city != null && state != null) {
+            criteria = criteria.and("location.city").is(city).and("location.state").is(state);
+        }
+        Query query = new Query(criteria).with(Sort.by(Sort.Direction.ASC, "bucketStart"));
+        return mongoTemplate.find(query, AirQualityRollup.class, granularity.getCollection());
+    }
+
+    // Hourly rollups of one location from the bucket containing since onwards
+    public List<AirQualityRollup> getHourlyRollups(String city, String state, LocalDateTime since) {
+        Query query = new Query(Criteria.where("location.city").is(city).and("location.state").is(state)
+            .and("bucketStart").gte(RollupGranularity.HOURLY.bucketStart(since)));
+        return mongoTemplate.find(query, AirQualityRollup.class, RollupGranularity.HOURLY.getCollection());
+    }
+
+    private AirQualitySummary toSummary(AirQualityRollup rollup, RollupGranularity granularity) {
+        Map<String, AirQualityRollup.MetricStats> metrics = rollup.getMetrics();
+        long count = Math.max(rollup.getCount(), 1);
+        AirQualityRollup.MetricStats aqi = metrics.get("aqi");
+        AirQualityData.Components averages = new AirQualityData.Components(
+            metrics.get("co").getSum() / count, metrics.get("no").getSum() / count,
+            metrics.get("no2").getSum() / count, metrics.get("o3").getSum() / count,
+            metrics.get("so2").getSum() / count, metrics.get("pm2_5").getSum() / count,
+            metrics.get("pm10").getSum() / count, metrics.get("nh3").getSum() / count);
+        return new AirQualitySummary(rollup.getLocation(), rollup.getBucketStart(), granularity.name().toLowerCase(),
+            rollup.getCount(), aqi.getSum() / count, aqi.getMin(), aqi.getMax(), aqi.getLast(), averages);
+    }
+
+    private AirQualityRollup toRollup(Document result, ZoneId zone) {
+        Document key = result.get("_id", Document.class);
+        String city = key.getString("city");
+        String state = key.getString("state");
+        LocalDateTime bucketStart = LocalDateTime.ofInstant(key.getDate("bucket").toInstant(), zone);
+
+        AirQualityRollup rollup = new AirQualityRollup(rollupId(city, state, bucketStart),
+            new AirQualityData.Location(city, state), bucketStart);
+        rollup.setCount(((Number) result.get("count")).longValue());
+        rollup.setLastTimestamp(LocalDateTime.ofInstant(result.getDate("lastTimestamp").toInstant(), zone));
+
+        Map<String, AirQualityRollup.MetricStats> metrics = new LinkedHashMap<>();
+        for (String metric : METRICS) {
+            metrics.put(metric, new AirQualityRollup.MetricStats(
+                number(result, metric + "_sum"), number(result, metric + "_min"),
+                number(result, metric + "_max"), number(result, metric + "_last")));
+        }
+        rollup.setMetrics(metrics);
+        return rollup;
+    }
+
+    private static double[] metricValues(AirQualityData reading) {
+        AirQualityData.Components c = reading.getComponents();
+        return new double[] {
+            reading.getAqi(), c.getCo(), c.getNo(), c.getNo2(), c.getO3(),
+            c.getSo2(), c.getPm2_5(), c.getPm10(), c.getNh3()
+        };
+    }
+
+    private static double number(Document document, String field) {
+        Object value = document.get(field);
+        return value == null ? 0 : ((Number) value).doubleValue();
+    }
+
+    private static String rollupId(String city, String state, LocalDateTime bucketStart) {
+        return city + "|" + state + "|" + bucketStart.format(ID_FORMAT);
+    }
+}
@@ -1,17 +1,39 @@
 package com.se.air_data.service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
+import com.mongodb.bulk.BulkWriteError;
 import com.se.air_data.entity.AirQualityData;
 import com.se.air_data.model.AQIResult;
 import com.se.air_data.model.AirQualityResponse;
+import com.se.air_data.model.AqiBreakdown;
 import com.se.air_data.model.Components;
 import com.se.air_data.model.GoogleAirQualityRequest;
 import com.se.air_data.model.GoogleAirQualityResponse;
@@ -20,6 +42,14 @@ import com.se.air_data.repository.AirQualityRepository;
 @Service
 public class AirQualityService {
     
+    private static final Logger logger = LoggerFactory.getLogger(AirQualityService.class);
+    
+    private static final String AQI_SOURCE_GOOGLE = "google";
+    private static final String AQI_SOURCE_LOCAL = "local";
+    
+    private static final String PROVIDER_GOOGLE = "google";
+    private static final String PROVIDER_OPENWEATHER = "openweather";
+    
 	@Autowired
     private final AirQualityRepository airQualityRepository;
     
@@ -38,14 +68,254 @@ public class AirQualityService {
     @Value("${google.api.key}")
     private String AQI_API_KEY;
     
+    @Value("${air-quality.provider.google.timeout-ms:5000}")
+    private long googleTimeoutMs;
+    
+    @Value("${air-quality.provider.openweather.timeout-ms:5000}")
+    private long openWeatherTimeoutMs;
+    
+    // google: Google AQI with OpenWeather components; local: score the components with the
+    // configured standard only; auto: local first, Google only when the local index is not valid
+    @Value("${air-quality.aqi.source:google}")
+    private String aqiSource = AQI_SOURCE_GOOGLE;
+    
+    // Send a duplicate request when a provider has not answered within its observed percentile
+    @Value("${air-quality.hedging.enabled:false}")
+    private boolean hedgingEnabled;
+    
+    @Value("${air-quality.hedging.percentile:0.95}")
+    private double hedgePercentile = 0.95;
+    
+    @Value("${air-quality.hedging.min-delay-ms:50}")
+    private long minHedgeDelayMs = 50;
+    
+    @Value("${air-quality.inflight.coordinate-decimals:3}")
+    private int inFlightCoordinateDecimals = 3;
+    
+    private final MongoTemplate mongoTemplate;
+    
+    private final ExecutorService providerExecutor;
+    
+    private final AirQualityCache airQualityCache;
+    
+    private final LocationRegistry locationRegistry;
+    
+    private final LatestReadingView latestReadingView;
+    
+    private final AirQualityRollupService airQualityRollupService;
+    
+    private final AqiEngine aqiEngine;
+    
+    private final ProviderLatencyTracker providerLatencyTracker;
+    
+    private final HedgeBudget hedgeBudget;
+    
+    // Fetches in progress, keyed by coordinates rounded to the configured number of decimals
+    private final ConcurrentHashMap<String, CompletableFuture<AQIResult>> inFlightRequests = new ConcurrentHashMap<>();
+    
     @Autowired
-    public AirQualityService(AirQualityRepository airQualityRepository, RestTemplate restTemplate) {
+    public AirQualityService(AirQualityRepository airQualityRepository, MongoTemplate mongoTemplate,
+                             RestTemplate restTemplate, @Qualifier("providerExecutor") ExecutorService providerExecutor,
+                             AirQualityCache airQualityCache, LocationRegistry locationRegistry,
+                             LatestReadingView latestReadingView, AirQualityRollupService airQualityRollupService,
+                             AqiEngine aqiEngine, ProviderLatencyTracker providerLatencyTracker,
+                             HedgeBudget hedgeBudget) {
     	
         this.airQualityRepository = airQualityRepository;
+        this.mongoTemplate = mongoTemplate;
         this.restTemplate = restTemplate;
+        this.providerExecutor = providerExecutor;
+        this.airQualityCache = airQualityCache;
+        this.locationRegistry = locationRegistry;
+        this.latestReadingView = latestReadingView;
+        this.airQualityRollupService = airQualityRollupService;
+        this.aqiEngine = aqiEngine;
+        this.providerLatencyTracker = providerLatencyTracker;
+        this.hedgeBudget = hedgeBudget;
     }
     
+    /**
+     * Returns air quality for the coordinates, served from the geohash cache when a
+     * recent reading exists for the same grid cell. Partial results are never cached.
+     */
     public AQIResult getAirQuality(double lat, double lon) {
+        return getAirQuality(lat, lon, null, null);
+    }
+    
+    /**
+     * Same as {@link #getAirQuality(double, double)}; a known city and state let the local
+     * standard average concentrations over the stored hourly rollups.
+     */
+    public AQIResult getAirQuality(double lat, double lon, String city, String state) {
+        AQIResult cached = airQualityCache.get(lat, lon);
+        if (cached != null) {
+            return cached;
+        }
+        
+        // Single-flight: concurrent callers for the same coordinates share one upstream fetch
+        String key = inFlightKey(lat, lon);
+        CompletableFuture<AQIResult> fetch = new CompletableFuture<>();
+        CompletableFuture<AQIResult> existing = inFlightRequests.putIfAbsent(key, fetch);
+        if (existing != null) {
+            return awaitInFlight(existing);
+        }
+        
+        try {
+            // The previous leader may have cached its result and left just after our first check
+            AQIResult latest = airQualityCache.get(lat, lon);
+            if (latest != null) {
+                fetch.complete(latest);
+                return latest;
+            }
+            
+            AQIResult result = AQI_SOURCE_GOOGLE.equals(aqiSource)
+                ? fetchAirQuality(lat, lon, city, state)
+                : fetchLocalFirst(lat, lon, city, state);
+            if (!result.isPartial()) {
+                airQualityCache.put(lat, lon, result);
+            }
+            fetch.complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            fetch.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlightRequests.remove(key, fetch);
+        }
+    }
+    
+    // Number of in-flight fetches currently shared between callers
+    public int getInFlightRequestCount() {
+        return inFlightRequests.size();
+    }
+    
+    private String inFlightKey(double lat, double lon) {
+        double scale = Math.pow(10, inFlightCoordinateDecimals);
+        return Math.round(lat * scale) + ":" + Math.round(lon * scale);
+    }
+    
+    private AQIResult awaitInFlight(CompletableFuture<AQIResult> inFlight) {
+        try {
+            return inFlight.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+    
+    /**
+     * Fetches the Google AQI and the OpenWeather components concurrently.
+     * Each provider is bounded by its own timeout; if one of them is slow or fails
+     * a partial result is returned instead of failing the whole reading.
+     */
+    private AQIResult fetchAirQuality(double lat, double lon, String city, String state) {
+        CompletableFuture<Integer> googleAqi = googleAqiAsync(lat, lon);
+        CompletableFuture<Components> openWeatherComponents = openWeatherComponentsAsync(lat, lon);
+
+        Integer aqi = joinProvider(googleAqi, "Google", lat, lon);
+        Components components = joinProvider(openWeatherComponents, "OpenWeather", lat, lon);
+
+        if (aqi == null && components == null) {
+            throw new RuntimeException("Failed to fetch air quality data from Google and OpenWeather APIs.");
+        }
+        
+        // Google missing: fall back to the locally calculated AQI from the components
+        if (aqi == null) {
+            AqiBreakdown local = aqiEngine.calculate(components, city, state);
+            return new AQIResult(components, local.getAqi(), true, local.getDominantPollutant());
+        }
+        
+        // OpenWeather missing: only the AQI is available
+        if (components == null) {
+            return new AQIResult(null, aqi, true);
+        }
+        
+        // Return result with Google AQI and OpenWeather components
+        return new AQIResult(components, aqi);
+    }
+    
+    /**
+     * Scores the OpenWeather components with the local standard first. Google is only
+     * called (in auto mode) when the local index is not valid, e.g. too few pollutants.
+     */
+    private AQIResult fetchLocalFirst(double lat, double lon, String city, String state) {
+        Components components = joinProvider(openWeatherComponentsAsync(lat, lon), "OpenWeather", lat, lon);
+        AqiBreakdown local = components != null ? aqiEngine.calculate(components, city, state) : null;
+        if (local != null && local.isValid()) {
+            return new AQIResult(components, local.getAqi(), false, local.getDominantPollutant());
+        }
+        
+        if (AQI_SOURCE_LOCAL.equals(aqiSource)) {
+            if (local == null) {
+                throw new RuntimeException("Failed to fetch component data from OpenWeather API.");
+            }
+            return new AQIResult(components, local.getAqi(), true, local.getDominantPollutant());
+        }
+        
+        Integer aqi = joinProvider(googleAqiAsync(lat, lon), "Google", lat, lon);
+        if (aqi == null && local == null) {
+            throw new RuntimeException("Failed to fetch air quality data from Google and OpenWeather APIs.");
+        }
+        if (aqi == null) {
+            return new AQIResult(components, local.getAqi(), true, local.getDominantPollutant());
+        }
+        return new AQIResult(components, aqi, components == null);
+    }
+    
+    private CompletableFuture<Integer> googleAqiAsync(double lat, double lon) {
+        return callProvider(PROVIDER_GOOGLE, () -> fetchGoogleAqi(lat, lon))
+            .orTimeout(googleTimeoutMs, TimeUnit.MILLISECONDS);
+    }
+    
+    private CompletableFuture<Components> openWeatherComponentsAsync(double lat, double lon) {
+        return callProvider(PROVIDER_OPENWEATHER, () -> fetchOpenWeatherComponents(lat, lon))
+            .orTimeout(openWeatherTimeoutMs, TimeUnit.MILLISECONDS);
+    }
+    
+    /**
+     * Calls a provider on the provider executor and records its latency. With hedging
+     * enabled, a duplicate request is sent if the first has not answered within the
+     * provider's recent p95 (and the per-second hedge budget allows it); the first
+     * successful answer wins and the call only fails once every attempt has failed.
+     */
+    private <T> CompletableFuture<T> callProvider(String provider, Supplier<T> call) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        AtomicInteger attempts = new AtomicInteger(1);
+        attempt(provider, call, result, attempts);
+        
+        long hedgeDelayMs = hedgingEnabled ? providerLatencyTracker.percentileMillis(provider, hedgePercentile) : -1;
+        if (hedgeDelayMs >= 0) {
+            Executor delayed = CompletableFuture.delayedExecutor(
+                Math.max(hedgeDelayMs, minHedgeDelayMs), TimeUnit.MILLISECONDS, providerExecutor);
+            delayed.execute(() -> {
+                if (!result.isDone() && hedgeBudget.tryAcquire()) {
+                    logger.debug("Hedging {} request after {}ms", provider, hedgeDelayMs);
+                    attempts.incrementAndGet();
+                    attempt(provider, call, result, attempts);
+                }
+            });
+        }
+        return result;
+    }
+    
+    private <T> void attempt(String provider, Supplier<T> call, CompletableFuture<T> result, AtomicInteger attempts) {
+        CompletableFuture.runAsync(() -> {
+            long start = System.nanoTime();
+            try {
+                T value = call.get();
+                providerLatencyTracker.record(provider, System.nanoTime() - start);
+                result.complete(value);
+            } catch (RuntimeException e) {
+                if (attempts.decrementAndGet() == 0) {
+                    result.completeExceptionally(e);
+                }
+            }
+        }, providerExecutor);
+    }
+    
+    private int fetchGoogleAqi(double lat, double lon) {
         String url = String.format("%s?key=%s", AQI_API_URL, AQI_API_KEY);
         
         // Create request body with LOCAL_AQI in extraComputations
@@ -76,19 +346,33 @@ public class AirQualityService {
             aqi = response.getIndexes().get(0).getAqi();
             System.out.println("Universal AQI (fallback): " + aqi);
         }
-        
-        // Still need to get components from OpenWeather for complete data
+        return aqi;
+    }
+    
+    private Components fetchOpenWeatherComponents(double lat, double lon) {
         String openWeatherUrl = String.format("%s?lat=%f&lon=%f&appid=%s", API_URL, lat, lon, API_KEY);
         AirQualityResponse openWeatherResponse = restTemplate.getForObject(openWeatherUrl, AirQualityResponse.class);
         
-        if (openWeatherResponse == null || openWeatherResponse.getList().isEmpty()) {
+        if (openWeatherResponse == null || openWeatherResponse.getList() == null || openWeatherResponse.getList().isEmpty()) {
             throw new RuntimeException("Failed to fetch component data from OpenWeather API.");
         }
 
-        Components components = openWeatherResponse.getList().get(0).getComponents();
-        
-        // Return result with Google AQI and OpenWeather components
-        return new AQIResult(components, aqi);
+        return openWeatherResponse.getList().get(0).getComponents();
+    }
+    
+    // Waits for a provider call, returning null if it timed out or failed
+    private <T> T joinProvider(CompletableFuture<T> future, String provider, double lat, double lon) {
+        try {
+            return future.join();
+        } catch (CompletionException | CancellationException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            if (cause instanceof TimeoutException) {
+                logger.warn("{} API timed out for lat={}, lon={}", provider, lat, lon);
+            } else {
+                logger.warn("{} API failed for lat={}, lon={}: {}", provider, lat, lon, cause.getMessage());
+            }
+            return null;
+        }
     }
     
     // Save new air quality data
@@ -97,7 +381,63 @@ public class AirQualityService {
         if (airQualityData.getTimestamp() == null) {
             airQualityData.setTimestamp(LocalDateTime.now());
         }
-        return airQualityRepository.save(airQualityData);
+        AirQualityData saved = airQualityRepository.save(airQualityData);
+        locationRegistry.register(saved.getLocation());
+        latestReadingView.record(saved);
+        if (saved.getComponents() != null && saved.getLocation() != null) {
+            airQualityRollupService.record(List.of(saved));
+        }
+        return saved;
+    }
+    
+    // Save a batch of air quality data with one unordered bulk insert; returns the readings that were inserted
+    public List<AirQualityData> saveAllAirQualityData(List<AirQualityData> airQualityDataList) {
+        if (airQualityDataList.isEmpty()) {
+            return airQualityDataList;
+        }
+        for (AirQualityData airQualityData : airQualityDataList) {
+            if (airQualityData.getTimestamp() == null) {
+                airQualityData.setTimestamp(LocalDateTime.now());
+            }
+            // Assign ids up front so callers get the same view as save()
+            if (airQualityData.getId() == null) {
+                airQualityData.setId(new ObjectId().toHexString());
+            }
+        }
+        
+        List<AirQualityData> inserted = airQualityDataList;
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, AirQualityData.class)
+                .insert(airQualityDataList)
+                .execute();
+        } catch (BulkOperationException e) {
+            // Unordered: everything except the reported indexes was written
+            Set<Integer> failed = new HashSet<>();
+            for (BulkWriteError error : e.getErrors()) {
+                failed.add(error.getIndex());
+            }
+            logger.warn("{} of {} readings failed to insert: {}", failed.size(), airQualityDataList.size(), e.getMessage());
+            inserted = new ArrayList<>(airQualityDataList.size() - failed.size());
+            for (int i = 0; i < airQualityDataList.size(); i++) {
+                if (!failed.contains(i)) {
+                    inserted.add(airQualityDataList.get(i));
+                }
+            }
+        }
+        
+        List<AirQualityData> rollupReadings = new ArrayList<>(inserted.size());
+        for (AirQualityData airQualityData : inserted) {
+            locationRegistry.register(airQualityData.getLocation());
+            latestReadingView.record(airQualityData);
+            // Same guard as saveAirQualityData: partial readings have nothing to roll up
+            if (airQualityData.getComponents() != null && airQualityData.getLocation() != null) {
+                rollupReadings.add(airQualityData);
+            }
+        }
+        if (!rollupReadings.isEmpty()) {
+            airQualityRollupService.record(rollupReadings);
+        }
+        return inserted;
     }
     
     // Get air quality data by ID
@@ -130,16 +470,15 @@ public class AirQualityService {
         return airQualityRepository.findByLocationCityAndLocationState(city, state);
     }
     
-    // Get air quality data by date range
+    // Get air quality data by date range (hourly/daily rollup points for long spans)
     public List<AirQualityData> getAirQualityDataByDateRange(LocalDateTime startDate, LocalDateTime endDate) {
-        return airQualityRepository.findByTimestampBetween(startDate, endDate);
+        return airQualityRollupService.getReadings(null, null, startDate, endDate);
     }
     
-    // Get air quality data by location and date range
+    // Get air quality data by location and date range (hourly/daily rollup points for long spans)
     public List<AirQualityData> getAirQualityDataByLocationAndDateRange(
             String city, String state, LocalDateTime startDate, LocalDateTime endDate) {
-        return airQualityRepository.findByLocationCityAndLocationStateAndTimestampBetween(
-                city, state, startDate, endDate);
+        return airQualityRollupService.getReadings(city, state, startDate, endDate);
     }
     
     // Get air quality data with PM2.5 exceeding a threshold
@@ -154,22 +493,22 @@ public class AirQualityService {
     
     // Get the latest air quality data
     public AirQualityData getLatestAirQualityData() {
-        return airQualityRepository.findTopByOrderByTimestampDesc();
+        return latestReadingView.getLatest();
     }
     
     // Get the latest air quality data for a specific city
     public AirQualityData getLatestAirQualityDataForCity(String city) {
-        return airQualityRepository.findTopByLocationCityOrderByTimestampDesc(city);
+        return latestReadingView.getLatestForCity(city);
     }
     
     // Get the latest air quality data for a specific state
     public AirQualityData getLatestAirQualityDataForState(String state) {
-        return airQualityRepository.findTopByLocationStateOrderByTimestampDesc(state);
+        return latestReadingView.getLatestForState(state);
     }
     
     // Get the latest air quality data for a specific city and state
     public AirQualityData getLatestAirQualityDataForLocation(String city, String state) {
-        return airQualityRepository.findTopByLocationCityAndLocationStateOrderByTimestampDesc(city, state);
+        return latestReadingView.getLatestForLocation(city, state);
     }
     
     // Get AQI data for a city over a time period (for trend analysis)
@@ -184,11 +523,13 @@ public class AirQualityService {
     
     // Delete air quality data by ID
     public void deleteAirQualityData(String id) {
+        Optional<AirQualityData> existing = airQualityRepository.findById(id);
         airQualityRepository.deleteById(id);
+        existing.ifPresent(latestReadingView::remove);
     }
     
     // Get Unique Locations
     public List<AirQualityData.Location> getAllUniqueLocations() {
-        return airQualityRepository.findDistinctLocations();
+        return locationRegistry.getLocations();
     }
 }
\ No newline at end of file
@@ -0,0 +1,106 @@
+package com.se.air_data.service;
+
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.se.air_data.entity.AirQualityData;
+
+/**
+ * Streams query results from a Mongo cursor as NDJSON. Documents are fetched in cursor
+ * batches and written one by one, so memory stays constant and a slow client naturally
+ * throttles the cursor through the blocking response stream.
+ */
+@Service
+public class AirQualityStreamService {
+
+    private final MongoTemplate mongoTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${air-quality.stream.cursor-batch-size:500}")
+    private int cursorBatchSize = 500;
+
+    @Value("${air-quality.stream.flush-every:500}")
+    private int flushEvery = 500;
+
+    // Upper bound applied to every streamed query, 0 means unlimited
+    @Value("${air-quality.stream.max-limit:0}")
+    private int maxLimit;
+
+    @Autowired
+    public AirQualityStreamService(MongoTemplate mongoTemplate, ObjectMapper objectMapper) {
+        this.mongoTemplate = mongoTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    public StreamingResponseBody streamAll(Integer limit) {
+        return stream(new Query(), limit);
+    }
+
+    public StreamingResponseBody streamByLocation(String city, String state, Integer limit) {
+        Criteria criteria = new Criteria();
+        if (city != null) {
+            criteria = criteria.and("location.city").is(city);
+        }
+        if (state != null) {
+            criteria = criteria.and("location.state").is(state);
+        }
+        return stream(new Query(criteria), limit);
+    }
+
+    public StreamingResponseBody streamByAqiRange(int minAqi, int maxAqi, Integer limit) {
+        return stream(new Query(Criteria.where("aqi").gt(minAqi).lt(maxAqi)), limit);
+    }
+
+    public StreamingResponseBody streamByDateRange(LocalDateTime startDate, LocalDateTime endDate, Integer limit) {
+        return stream(new Query(Criteria.where("timestamp").gt(startDate).lt(endDate)), limit);
+    }
+
+    public StreamingResponseBody streamCitiesWithHighAqi(int threshold, Integer limit) {
+        Query query = new Query(Criteria.where("aqi").gt(threshold));
+        query.fields().include("location.city", "location.state").exclude("_id");
+        return stream(query, limit);
+    }
+
+    private StreamingResponseBody stream(Query query, Integer limit) {
+        int effectiveLimit = effectiveLimit(limit);
+        if (effectiveLimit > 0) {
+            query.limit(effectiveLimit);
+        }
+        query.cursorBatchSize(cursorBatchSize);
+
+        return outputStream -> {
+            try (Stream<AirQualityData> documents = mongoTemplate.stream(query, AirQualityData.class);
+                 SequenceWriter writer = objectMapper.writerFor(AirQualityData.class)
+                     .withRootValueSeparator("\n")
+                     .writeValues(outputStream)) {
+                Iterator<AirQualityData> iterator = documents.iterator();
+                int written = 0;
+                while (iterator.hasNext()) {
+                    writer.write(iterator.next());
+                    if (++written % flushEvery == 0) {
+                        writer.flush();
+                    }
+                }
+                writer.flush();
+            }
+        };
+    }
+
+    private int effectiveLimit(Integer limit) {
+        if (limit == null || limit <= 0) {
+            return maxLimit;
+        }
+        return maxLimit > 0 ? Math.min(limit, maxLimit) : limit;
+    }
+}
@@ -0,0 +1,134 @@
+package com.se.air_data.service;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.se.air_data.entity.AirQualityRollup;
+import com.se.air_data.model.AqiBreakdown;
+import com.se.air_data.model.Components;
+import com.se.air_data.model.Pollutant;
+
+/**
+ * Scores OpenWeather components against a pluggable {@link AqiStandard}. When the location
+ * is known, concentrations are averaged with the hourly rollups over each pollutant's
+ * averaging window (24h/8h for CPCB) before looking up the sub-indices.
+ */
+@Component
+public class AqiEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(AqiEngine.class);
+
+    private final Map<String, AqiStandard> standards = new HashMap<>();
+    private final AirQualityRollupService airQualityRollupService;
+
+    @Value("${air-quality.aqi.standard:ind_cpcb}")
+    private String defaultStandard = IndiaCpcbAqiStandard.CODE;
+
+    @Autowired
+    public AqiEngine(List<AqiStandard> standards, AirQualityRollupService airQualityRollupService) {
+        for (AqiStandard standard : standards) {
+            this.standards.put(standard.getCode(), standard);
+        }
+        this.airQualityRollupService = airQualityRollupService;
+    }
+
+    public AqiStandard getStandard(String code) {
+        AqiStandard standard = standards.get(code);
+        if (standard == null) {
+            throw new IllegalArgumentException("Unknown AQI standard: " + code);
+        }
+        return standard;
+    }
+
+    public AqiStandard getDefaultStandard() {
+        return getStandard(defaultStandard);
+    }
+
+    public AqiBreakdown calculate(Components components) {
+        return calculate(defaultStandard, components, null, null);
+    }
+
+    public AqiBreakdown calculate(Components components, String city, String state) {
+        return calculate(defaultStandard, components, city, state);
+    }
+
+    public AqiBreakdown calculate(String standardCode, Components components, String city, String state) {
+        AqiStandard standard = getStandard(standardCode);
+        return score(standard, concentrations(standard, components, city, state));
+    }
+
+    /**
+     * Sub-indices for the given concentrations; missing, negative or NaN values are not scored
+     */
+    public AqiBreakdown score(AqiStandard standard, Map<Pollutant, Double> concentrations) {
+        Map<Pollutant, Integer> subIndices = new EnumMap<>(Pollutant.class);
+        Pollutant dominant = null;
+        int aqi = 0;
+        for (Pollutant pollutant : standard.getPollutants()) {
+            Double concentration = concentrations.get(pollutant);
+            if (concentration == null || !(concentration >= 0)) {
+                continue;
+            }
+            int subIndex = standard.subIndex(pollutant, concentration);
+            subIndices.put(pollutant, subIndex);
+            if (dominant == null || subIndex > aqi) {
+                dominant = pollutant;
+                aqi = subIndex;
+            }
+        }
+        return new AqiBreakdown(standard.getCode(), aqi, dominant, subIndices, standard.isValid(subIndices));
+    }
+
+    private Map<Pollutant, Double> concentrations(AqiStandard standard, Components components, String city,
+                                                  String state) {
+        Map<Pollutant, Double> concentrations = new EnumMap<>(Pollutant.class);
+        for (Pollutant pollutant : standard.getPollutants()) {
+            concentrations.put(pollutant, pollutant.concentration(components));
+        }
+
+        int maxHours = 1;
+        for (Pollutant pollutant : standard.getPollutants()) {
+            maxHours = Math.max(maxHours, standard.getAveragingHours(pollutant));
+        }
+        if (city == null || state == null || maxHours <= 1) {
+            return concentrations;
+        }
+
+        LocalDateTime currentHour = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS);
+        List<AirQualityRollup> rollups;
+        try {
+            rollups = airQualityRollupService.getHourlyRollups(city, state, currentHour.minusHours(maxHours - 1));
+        } catch (RuntimeException e) {
+            logger.warn("Could not load rollups for {}, {}; scoring the current reading only: {}",
+                city, state, e.getMessage());
+            return concentrations;
+        }
+
+        // The current reading is not stored yet, so it counts once on top of the rollups
+        for (Pollutant pollutant : standard.getPollutants()) {
+            LocalDateTime windowStart = currentHour.minusHours(standard.getAveragingHours(pollutant) - 1);
+            double sum = concentrations.get(pollutant);
+            long count = 1;
+            for (AirQualityRollup rollup : rollups) {
+                AirQualityRollup.MetricStats stats = rollup.getMetrics() != null
+                    ? rollup.getMetrics().get(pollutant.getMetric()) : null;
+                if (stats != null && !rollup.getBucketStart().isBefore(windowStart)) {
+                    sum += stats.getSum();
+                    count += rollup.getCount();
+                }
+            }
+            concentrations.put(pollutant, sum / count);
+        }
+        return concentrations;
+    }
+}
@@ -0,0 +1,43 @@
+package com.se.air_data.service;
+
+import java.util.Map;
+import java.util.Set;
+
+import com.se.air_data.model.Pollutant;
+
+/**
+ * A national or regional AQI definition: breakpoint tables per pollutant, the averaging
+ * window each pollutant is scored over and the rule for when an index may be published.
+ */
+public interface AqiStandard {
+
+    // Code as used by the Google Air Quality API, e.g. ind_cpcb
+    String getCode();
+
+    Set<Pollutant> getPollutants();
+
+    /**
+     * Sub-index for a concentration in µg/m³ (unit conversion is up to the standard)
+     */
+    int subIndex(Pollutant pollutant, double concentration);
+
+    // Hours the concentration should be averaged over before scoring
+    default int getAveragingHours(Pollutant pollutant) {
+        return 1;
+    }
+
+    default boolean isValid(Map<Pollutant, Integer> subIndices) {
+        return !subIndices.isEmpty();
+    }
+
+    // Health category of an index value, 0 being the best band
+    int getCategory(int aqi);
+
+    static int categoryOf(int aqi, int[] categoryUpperBounds) {
+        int category = 0;
+        while (category < categoryUpperBounds.length && aqi > categoryUpperBounds[category]) {
+            category++;
+        }
+        return category;
+    }
+}
@@ -0,0 +1,108 @@
+package com.se.air_data.service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.stereotype.Service;
+
+import com.se.air_data.entity.AirQualityData;
+import com.se.air_data.model.AqiTrendBucket;
+import com.se.air_data.model.TrendInterval;
+
+/**
+ * Buckets readings by hour/day/week inside Mongo and returns one summary per bucket
+ * instead of every raw document in the range. The p95 is computed server-side with
+ * $percentile, so MongoDB 7.0+ is required.
+ */
+@Service
+public class AqiTrendService {
+
+    private static final String[] COMPONENTS = {"co", "no", "no2", "o3", "so2", "pm2_5", "pm10", "nh3"};
+
+    private final MongoTemplate mongoTemplate;
+
+    @Autowired
+    public AqiTrendService(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    public List<AqiTrendBucket> getAqiTrend(String city, String state, LocalDateTime startDate,
+                                            LocalDateTime endDate, TrendInterval interval) {
+        ZoneId zone = ZoneId.systemDefault();
+
+        Document match = new Document("location.city", city)
+            .append("timestamp", new Document("$gte", toDate(startDate, zone)).append("$lte", toDate(endDate, zone)));
+        if (state != null) {
+            match.append("location.state", state);
+        }
+
+        Document bucketStart = new Document("$dateTrunc", new Document("date", "$timestamp")
+            .append("unit", interval.getUnit())
+            .append("timezone", zone.getId())
+            .append("startOfWeek", "monday"));
+
+        Document group = new Document("_id", bucketStart)
+            .append("count", new Document("$sum", 1))
+            .append("minAqi", new Document("$min", "$aqi"))
+            .append("maxAqi", new Document("$max", "$aqi"))
+            .append("avgAqi", new Document("$avg", "$aqi"))
+            .append("p95Aqi", new Document("$percentile", new Document("input", "$aqi")
+                .append("p", List.of(0.95)).append("method", "approximate")));
+        for (String component : COMPONENTS) {
+            group.append(component, new Document("$avg", "$components." + component));
+        }
+
+        List<AggregationOperation> pipeline = List.of(
+            context -> new Document("$match", match),
+            context -> new Document("$group", group),
+            context -> new Document("$sort", new Document("_id", 1))
+        );
+
+        List<Document> results = mongoTemplate.aggregate(
+            Aggregation.newAggregation(pipeline),
+            mongoTemplate.getCollectionName(AirQualityData.class),
+            Document.class).getMappedResults();
+
+        List<AqiTrendBucket> buckets = new ArrayList<>(results.size());
+        for (Document result : results) {
+            buckets.add(toBucket(result, zone));
+        }
+        return buckets;
+    }
+
+    private AqiTrendBucket toBucket(Document result, ZoneId zone) {
+        List<Number> percentiles = result.getList("p95Aqi", Number.class);
+        int p95 = percentiles == null || percentiles.isEmpty() || percentiles.get(0) == null
+            ? 0 : (int) Math.round(percentiles.get(0).doubleValue());
+
+        AirQualityData.Components averages = new AirQualityData.Components(
+            average(result, "co"), average(result, "no"), average(result, "no2"), average(result, "o3"),
+            average(result, "so2"), average(result, "pm2_5"), average(result, "pm10"), average(result, "nh3"));
+
+        return new AqiTrendBucket(
+            LocalDateTime.ofInstant(result.getDate("_id").toInstant(), zone),
+            ((Number) result.get("count")).longValue(),
+            ((Number) result.get("minAqi")).intValue(),
+            ((Number) result.get("maxAqi")).intValue(),
+            ((Number) result.get("avgAqi")).doubleValue(),
+            p95,
+            averages);
+    }
+
+    private static double average(Document result, String field) {
+        Object value = result.get(field);
+        return value == null ? 0 : ((Number) value).doubleValue();
+    }
+
+    private static Date toDate(LocalDateTime dateTime, ZoneId zone) {
+        return Date.from(dateTime.atZone(zone).toInstant());
+    }
+}
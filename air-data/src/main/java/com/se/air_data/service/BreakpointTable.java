@@ -0,0 +1,55 @@
+package com.se.air_data.service;
+
+/**
+ * Piecewise-linear concentration to index mapping with the per-segment slopes precomputed.
+ * Lookups count how many breakpoints a concentration exceeds instead of branching per
+ * segment, and allocate nothing.
+ */
+public final class BreakpointTable {
+
+    private final double[] breakpoints;
+    private final int[] indexValues;
+    private final double[] slopes;
+    private final double upperBound;
+    private final int overflowValue;
+
+    public BreakpointTable(double[] breakpoints, int[] indexValues, int overflowValue) {
+        if (breakpoints.length < 2 || breakpoints.length != indexValues.length) {
+            throw new IllegalArgumentException("Breakpoints and index values must have the same length (at least 2)");
+        }
+        for (int i = 1; i < breakpoints.length; i++) {
+            if (!(breakpoints[i] > breakpoints[i - 1])) {
+                throw new IllegalArgumentException("Breakpoints must be strictly increasing");
+            }
+        }
+        this.breakpoints = breakpoints.clone();
+        this.indexValues = indexValues.clone();
+        this.slopes = new double[breakpoints.length - 1];
+        for (int i = 0; i < slopes.length; i++) {
+            // Same expression the original per-call loop evaluated, so results are bit-identical
+            slopes[i] = (indexValues[i + 1] - indexValues[i]) / (breakpoints[i + 1] - breakpoints[i]);
+        }
+        this.upperBound = breakpoints[breakpoints.length - 1];
+        this.overflowValue = overflowValue;
+    }
+
+    /**
+     * Sub-index for a concentration; anything above the last breakpoint (or NaN) maps to the
+     * overflow value.
+     */
+    public int lookup(double concentration) {
+        if (!(concentration <= upperBound)) {
+            return overflowValue;
+        }
+        // Segment i covers (breakpoints[i], breakpoints[i + 1]]
+        int segment = 0;
+        for (int i = 1; i < slopes.length; i++) {
+            segment += concentration > breakpoints[i] ? 1 : 0;
+        }
+        return (int) (slopes[segment] * (concentration - breakpoints[segment]) + indexValues[segment]);
+    }
+
+    public double getUpperBound() {
+        return upperBound;
+    }
+}
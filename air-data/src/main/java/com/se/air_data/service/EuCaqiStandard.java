@@ -0,0 +1,62 @@
+package com.se.air_data.service;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.stereotype.Component;
+
+import com.se.air_data.model.Pollutant;
+
+/**
+ * European CAQI, hourly background grid (0-100, anything above the last band is reported
+ * as 100). NO2, PM10 and O3 are mandatory.
+ */
+@Component
+public class EuCaqiStandard implements AqiStandard {
+
+    public static final String CODE = "eu_caqi";
+
+    private static final int[] CAQI_VALUES = {0, 25, 50, 75, 100};
+    private static final int MAX_CAQI = 100;
+    // Very low, Low, Medium, High, Very high
+    private static final int[] CATEGORY_UPPER_BOUNDS = {25, 50, 75, 100};
+
+    private static final Map<Pollutant, BreakpointTable> TABLES = new EnumMap<>(Map.of(
+        Pollutant.NO2, table(0, 50, 100, 200, 400),
+        Pollutant.PM10, table(0, 25, 50, 90, 180),
+        Pollutant.PM2_5, table(0, 15, 30, 55, 110),
+        Pollutant.O3, table(0, 60, 120, 180, 240),
+        Pollutant.CO, table(0, 5000, 7500, 10000, 20000),
+        Pollutant.SO2, table(0, 50, 100, 350, 500)));
+
+    private static BreakpointTable table(double... breakpoints) {
+        return new BreakpointTable(breakpoints, CAQI_VALUES, MAX_CAQI);
+    }
+
+    @Override
+    public String getCode() {
+        return CODE;
+    }
+
+    @Override
+    public Set<Pollutant> getPollutants() {
+        return TABLES.keySet();
+    }
+
+    @Override
+    public int subIndex(Pollutant pollutant, double concentration) {
+        return TABLES.get(pollutant).lookup(concentration);
+    }
+
+    @Override
+    public boolean isValid(Map<Pollutant, Integer> subIndices) {
+        return subIndices.containsKey(Pollutant.NO2) && subIndices.containsKey(Pollutant.PM10)
+            && subIndices.containsKey(Pollutant.O3);
+    }
+
+    @Override
+    public int getCategory(int aqi) {
+        return AqiStandard.categoryOf(aqi, CATEGORY_UPPER_BOUNDS);
+    }
+}
@@ -0,0 +1,55 @@
+package com.se.air_data.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Caps how many hedged (duplicate) provider requests may be sent per second, so hedging
+ * cannot multiply load when a provider is slow across the board
+ */
+@Component
+public class HedgeBudget {
+
+    @Value("${air-quality.hedging.max-per-second:10}")
+    private int maxPerSecond = 10;
+
+    private final Counter granted;
+    private final Counter denied;
+
+    private long currentSecond = -1;
+    private int used;
+
+    @Autowired
+    public HedgeBudget(MeterRegistry meterRegistry) {
+        this.granted = hedgeCounter(meterRegistry, "sent");
+        this.denied = hedgeCounter(meterRegistry, "over_budget");
+    }
+
+    public boolean tryAcquire() {
+        boolean acquired;
+        synchronized (this) {
+            long second = System.nanoTime() / 1_000_000_000L;
+            if (second != currentSecond) {
+                currentSecond = second;
+                used = 0;
+            }
+            acquired = used < maxPerSecond;
+            if (acquired) {
+                used++;
+            }
+        }
+        (acquired ? granted : denied).increment();
+        return acquired;
+    }
+
+    private static Counter hedgeCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("air_quality.provider.hedges")
+            .description("Hedged provider requests sent or skipped because the budget was used up")
+            .tag("result", result)
+            .register(meterRegistry);
+    }
+}
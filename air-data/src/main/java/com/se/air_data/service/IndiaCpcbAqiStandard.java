@@ -0,0 +1,71 @@
+package com.se.air_data.service;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.stereotype.Component;
+
+import com.se.air_data.model.Pollutant;
+
+/**
+ * India National AQI (CPCB, 0-500). PM, NO2, SO2 and NH3 are scored on 24-hour averages,
+ * O3 and CO on 8-hour averages with CO in mg/m³. An index needs at least three
+ * sub-indices, one of which must be PM2.5 or PM10.
+ */
+@Component
+public class IndiaCpcbAqiStandard implements AqiStandard {
+
+    public static final String CODE = "ind_cpcb";
+
+    private static final int[] AQI_VALUES = {0, 50, 100, 200, 300, 400, 500};
+    private static final int MAX_AQI = 500;
+    private static final int MIN_SUB_INDICES = 3;
+    // Good, Satisfactory, Moderate, Poor, Very Poor, Severe
+    private static final int[] CATEGORY_UPPER_BOUNDS = {50, 100, 200, 300, 400};
+
+    private static final Map<Pollutant, BreakpointTable> TABLES = new EnumMap<>(Map.of(
+        Pollutant.PM2_5, table(0, 30, 60, 90, 120, 250, 380),
+        Pollutant.PM10, table(0, 50, 100, 250, 350, 430, 600),
+        Pollutant.NO2, table(0, 40, 80, 180, 280, 400, 1000),
+        Pollutant.O3, table(0, 50, 100, 168, 208, 748, 1000),
+        Pollutant.CO, table(0, 1, 2, 10, 17, 34, 50),
+        Pollutant.SO2, table(0, 40, 80, 380, 800, 1600, 2400),
+        Pollutant.NH3, table(0, 200, 400, 800, 1200, 1800, 2400)));
+
+    private static BreakpointTable table(double... breakpoints) {
+        return new BreakpointTable(breakpoints, AQI_VALUES, MAX_AQI);
+    }
+
+    @Override
+    public String getCode() {
+        return CODE;
+    }
+
+    @Override
+    public Set<Pollutant> getPollutants() {
+        return TABLES.keySet();
+    }
+
+    @Override
+    public int subIndex(Pollutant pollutant, double concentration) {
+        double value = pollutant == Pollutant.CO ? concentration / 1000 : concentration;
+        return TABLES.get(pollutant).lookup(value);
+    }
+
+    @Override
+    public int getAveragingHours(Pollutant pollutant) {
+        return pollutant == Pollutant.O3 || pollutant == Pollutant.CO ? 8 : 24;
+    }
+
+    @Override
+    public boolean isValid(Map<Pollutant, Integer> subIndices) {
+        return subIndices.size() >= MIN_SUB_INDICES
+            && (subIndices.containsKey(Pollutant.PM2_5) || subIndices.containsKey(Pollutant.PM10));
+    }
+
+    @Override
+    public int getCategory(int aqi) {
+        return AqiStandard.categoryOf(aqi, CATEGORY_UPPER_BOUNDS);
+    }
+}
@@ -0,0 +1,127 @@
+package com.se.air_data.service;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.se.air_data.entity.AirQualityData;
+import com.se.air_data.repository.AirQualityRepository;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * In-memory view of the newest reading per (city, state), plus per-city, per-state
+ * and global latest, so the /latest endpoints are answered without touching Mongo.
+ */
+@Component
+@DependsOn("timeSeriesStorageManager")
+public class LatestReadingView {
+
+    private static final Logger logger = LoggerFactory.getLogger(LatestReadingView.class);
+
+    private final AirQualityRepository airQualityRepository;
+    private final LocationRegistry locationRegistry;
+
+    private final ConcurrentHashMap<String, AirQualityData> byLocation = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, AirQualityData> byCity = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, AirQualityData> byState = new ConcurrentHashMap<>();
+    private final AtomicReference<AirQualityData> latest = new AtomicReference<>();
+
+    @Autowired
+    public LatestReadingView(AirQualityRepository airQualityRepository, LocationRegistry locationRegistry) {
+        this.airQualityRepository = airQualityRepository;
+        this.locationRegistry = locationRegistry;
+    }
+
+    /**
+     * Builds the view at startup with one newest-first lookup per registered location,
+     * each a single seek on location_timestamp_idx; after that the view is kept current
+     * on write. The periodic rebuild (to pick up other instances' writes) is opt-in via
+     * air-quality.latest-view.refresh-cron.
+     */
+    @PostConstruct
+    @Scheduled(cron = "${air-quality.latest-view.refresh-cron:-}")
+    public void rebuild() {
+        for (AirQualityData.Location location : locationRegistry.getLocations()) {
+            record(airQualityRepository.findTopByLocationCityAndLocationStateOrderByTimestampDesc(
+                location.getCity(), location.getState()));
+        }
+        logger.info("Latest reading view holds {} locations", byLocation.size());
+    }
+
+    /**
+     * Applies a saved reading, keeping whichever reading is newer for each key
+     */
+    public void record(AirQualityData data) {
+        if (data == null || data.getTimestamp() == null || data.getLocation() == null) {
+            return;
+        }
+        String city = data.getLocation().getCity();
+        String state = data.getLocation().getState();
+        if (city != null && state != null) {
+            byLocation.merge(city + "|" + state, data, LatestReadingView::newer);
+        }
+        if (city != null) {
+            byCity.merge(city, data, LatestReadingView::newer);
+        }
+        if (state != null) {
+            byState.merge(state, data, LatestReadingView::newer);
+        }
+        latest.accumulateAndGet(data, LatestReadingView::newer);
+    }
+
+    /**
+     * Drops a deleted reading from the view and reloads the affected keys from Mongo
+     */
+    public void remove(AirQualityData deleted) {
+        if (deleted == null || deleted.getLocation() == null) {
+            return;
+        }
+        String city = deleted.getLocation().getCity();
+        String state = deleted.getLocation().getState();
+        String id = deleted.getId();
+
+        if (byLocation.computeIfPresent(city + "|" + state, (k, v) -> id.equals(v.getId()) ? null : v) == null) {
+            record(airQualityRepository.findTopByLocationCityAndLocationStateOrderByTimestampDesc(city, state));
+        }
+        if (byCity.computeIfPresent(city, (k, v) -> id.equals(v.getId()) ? null : v) == null) {
+            record(airQualityRepository.findTopByLocationCityOrderByTimestampDesc(city));
+        }
+        if (byState.computeIfPresent(state, (k, v) -> id.equals(v.getId()) ? null : v) == null) {
+            record(airQualityRepository.findTopByLocationStateOrderByTimestampDesc(state));
+        }
+        AirQualityData current = latest.get();
+        if (current != null && id.equals(current.getId())) {
+            latest.compareAndSet(current, airQualityRepository.findTopByOrderByTimestampDesc());
+        }
+    }
+
+    public AirQualityData getLatest() {
+        return latest.get();
+    }
+
+    public AirQualityData getLatestForLocation(String city, String state) {
+        return byLocation.get(city + "|" + state);
+    }
+
+    public AirQualityData getLatestForCity(String city) {
+        return byCity.get(city);
+    }
+
+    public AirQualityData getLatestForState(String state) {
+        return byState.get(state);
+    }
+
+    private static AirQualityData newer(AirQualityData current, AirQualityData candidate) {
+        if (current == null) {
+            return candidate;
+        }
+        return candidate.getTimestamp().isBefore(current.getTimestamp()) ? current : candidate;
+    }
+}
@@ -0,0 +1,114 @@
+package com.se.air_data.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.se.air_data.entity.AirQualityData;
+import com.se.air_data.entity.TrackedLocation;
+import com.se.air_data.repository.AirQualityRepository;
+import com.se.air_data.repository.TrackedLocationRepository;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Registry of known locations maintained on write, so listing the unique locations
+ * costs O(locations) instead of a $group over the whole reading history.
+ */
+@Service
+@DependsOn("timeSeriesStorageManager")
+public class LocationRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(LocationRegistry.class);
+
+    private final TrackedLocationRepository trackedLocationRepository;
+    private final AirQualityRepository airQualityRepository;
+    private final MongoTemplate mongoTemplate;
+
+    // Keyed by city|state
+    private final ConcurrentHashMap<String, AirQualityData.Location> locations = new ConcurrentHashMap<>();
+
+    @Autowired
+    public LocationRegistry(TrackedLocationRepository trackedLocationRepository,
+                            AirQualityRepository airQualityRepository,
+                            MongoTemplate mongoTemplate) {
+        this.trackedLocationRepository = trackedLocationRepository;
+        this.airQualityRepository = airQualityRepository;
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    /**
+     * Ensures the unique index and warms the in-memory set. The first start on an
+     * existing database seeds the registry from the reading history once.
+     */
+    @PostConstruct
+    public void warmUp() {
+        mongoTemplate.indexOps(TrackedLocation.class).ensureIndex(
+            new Index().on("city", Sort.Direction.ASC).on("state", Sort.Direction.ASC)
+                .unique().named("city_state_unique_idx"));
+
+        if (trackedLocationRepository.count() == 0) {
+            List<AirQualityData.Location> historical = airQualityRepository.findDistinctLocations();
+            logger.info("Seeding location registry with {} locations from air quality history", historical.size());
+            historical.forEach(this::register);
+        }
+        refresh();
+    }
+
+    /**
+     * Reloads the registry so locations registered by other instances become visible
+     */
+    @Scheduled(fixedDelayString = "${air-quality.locations.refresh-ms:600000}",
+               initialDelayString = "${air-quality.locations.refresh-ms:600000}")
+    public void refresh() {
+        for (TrackedLocation tracked : trackedLocationRepository.findAll()) {
+            locations.putIfAbsent(key(tracked.getCity(), tracked.getState()),
+                new AirQualityData.Location(tracked.getCity(), tracked.getState()));
+        }
+        logger.info("Location registry holds {} locations", locations.size());
+    }
+
+    /**
+     * Records a location, writing to Mongo only the first time it is seen
+     */
+    public void register(AirQualityData.Location location) {
+        if (location == null || location.getCity() == null || location.getState() == null) {
+            return;
+        }
+        String key = key(location.getCity(), location.getState());
+        if (locations.putIfAbsent(key, new AirQualityData.Location(location.getCity(), location.getState())) != null) {
+            return;
+        }
+        try {
+            Query query = new Query(Criteria.where("city").is(location.getCity())
+                .and("state").is(location.getState()));
+            mongoTemplate.upsert(query, new Update().setOnInsert("firstSeen", LocalDateTime.now()), TrackedLocation.class);
+        } catch (RuntimeException e) {
+            // Forget it so the next reading retries the write
+            locations.remove(key);
+            throw e;
+        }
+    }
+
+    public List<AirQualityData.Location> getLocations() {
+        return new ArrayList<>(locations.values());
+    }
+
+    private static String key(String city, String state) {
+        return city + "|" + state;
+    }
+}
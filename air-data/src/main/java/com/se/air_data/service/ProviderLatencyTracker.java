@@ -0,0 +1,87 @@
+package com.se.air_data.service;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Sliding window of the most recent successful call latencies per provider, used to pick
+ * the hedge delay. Latencies are also exported as air_quality.provider.latency.
+ */
+@Component
+public class ProviderLatencyTracker {
+
+    private static final int WINDOW_SIZE = 256;
+
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentHashMap<String, Window> windows = new ConcurrentHashMap<>();
+
+    // Percentiles are not reported until a provider has this many samples
+    @Value("${air-quality.hedging.min-samples:20}")
+    private int minSamples = 20;
+
+    @Autowired
+    public ProviderLatencyTracker(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public void record(String provider, long latencyNanos) {
+        windows.computeIfAbsent(provider, this::newWindow).add(latencyNanos);
+    }
+
+    /**
+     * Nearest-rank percentile (0-1) of the recent latencies in milliseconds, or -1 when
+     * there are not enough samples yet
+     */
+    public long percentileMillis(String provider, double percentile) {
+        Window window = windows.get(provider);
+        return window != null ? window.percentileMillis(percentile, minSamples) : -1;
+    }
+
+    private Window newWindow(String provider) {
+        return new Window(Timer.builder("air_quality.provider.latency")
+            .description("Latency of successful Google/OpenWeather calls")
+            .tag("provider", provider)
+            .register(meterRegistry));
+    }
+
+    private static final class Window {
+        private final long[] samples = new long[WINDOW_SIZE];
+        private final Timer timer;
+        private int next;
+        private int count;
+
+        Window(Timer timer) {
+            this.timer = timer;
+        }
+
+        void add(long latencyNanos) {
+            timer.record(latencyNanos, TimeUnit.NANOSECONDS);
+            synchronized (this) {
+                samples[next] = latencyNanos;
+                next = (next + 1) % WINDOW_SIZE;
+                count = Math.min(count + 1, WINDOW_SIZE);
+            }
+        }
+
+        long percentileMillis(double percentile, int minSamples) {
+            long[] sorted;
+            synchronized (this) {
+                if (count < minSamples) {
+                    return -1;
+                }
+                sorted = Arrays.copyOf(samples, count);
+            }
+            Arrays.sort(sorted);
+            int rank = (int) Math.ceil(percentile * sorted.length);
+            return TimeUnit.NANOSECONDS.toMillis(sorted[Math.max(0, Math.min(rank, sorted.length) - 1)]);
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.se.air_data.service;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.CollectionOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.timeseries.Granularity;
+import org.springframework.stereotype.Component;
+
+import com.mongodb.MongoNamespace;
+import com.se.air_data.entity.AirQualityData;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Optionally stores readings in a native MongoDB time-series collection
+ * (timeField "timestamp", metaField "location") and migrates an existing
+ * regular collection into one. Repository queries work on both layouts.
+ */
+@Component
+public class TimeSeriesStorageManager {
+
+    private static final Logger logger = LoggerFactory.getLogger(TimeSeriesStorageManager.class);
+
+    private static final int COPY_BATCH_SIZE = 1000;
+
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${air-quality.storage.time-series.enabled:false}")
+    private boolean enabled;
+
+    @Value("${air-quality.storage.time-series.granularity:minutes}")
+    private String granularity = "minutes";
+
+    @Value("${air-quality.storage.time-series.migrate-on-startup:false}")
+    private boolean migrateOnStartup;
+
+    @Autowired
+    public TimeSeriesStorageManager(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @PostConstruct
+    public void initialize() {
+        if (!enabled) {
+            return;
+        }
+        String collection = mongoTemplate.getCollectionName(AirQualityData.class);
+        String legacyCollection = collection + "_legacy";
+        boolean migrationStarted = mongoTemplate.collectionExists(legacyCollection);
+
+        if (!migrationStarted && !mongoTemplate.collectionExists(collection)) {
+            createTimeSeriesCollection(collection);
+            logger.info("Created time-series collection {} with granularity {}", collection, granularity);
+        } else if (!migrationStarted && isTimeSeries(collection)) {
+            logger.info("Collection {} already uses time-series storage", collection);
+        } else if (migrateOnStartup) {
+            migrateToTimeSeries();
+        } else if (migrationStarted) {
+            logger.warn("{} exists from an earlier migration of {}; set air-quality.storage.time-series.migrate-on-startup=true to resume it",
+                legacyCollection, collection);
+        } else {
+            logger.warn("Collection {} is a regular collection; set air-quality.storage.time-series.migrate-on-startup=true to convert it",
+                collection);
+        }
+    }
+
+    /**
+     * Moves the existing regular collection aside as <name>_legacy, recreates <name> as a
+     * time-series collection and copies every reading into it in timestamp order. If a
+     * previous run was interrupted (the legacy collection already exists), each step that
+     * already happened is skipped and the copy resumes from the newest migrated timestamp,
+     * so rerunning is safe. The legacy collection is kept so it can be verified and
+     * dropped manually.
+     */
+    public void migrateToTimeSeries() {
+        String collection = mongoTemplate.getCollectionName(AirQualityData.class);
+        String legacyCollection = collection + "_legacy";
+        boolean legacyExists = mongoTemplate.collectionExists(legacyCollection);
+
+        if (!isTimeSeries(collection)) {
+            boolean collectionExists = mongoTemplate.collectionExists(collection);
+            if (legacyExists && collectionExists) {
+                logger.error("Cannot migrate {}: it and {} are both regular collections", collection, legacyCollection);
+                return;
+            }
+            if (!legacyExists) {
+                if (!collectionExists) {
+                    createTimeSeriesCollection(collection);
+                    return;
+                }
+                // Time-series collections cannot be renamed, so the legacy one moves instead
+                String database = mongoTemplate.getDb().getName();
+                mongoTemplate.getCollection(collection).renameCollection(new MongoNamespace(database, legacyCollection));
+            }
+            createTimeSeriesCollection(collection);
+        }
+
+        logger.info("Migrating readings from {} into time-series collection {}", legacyCollection, collection);
+        long copied = copyReadings(legacyCollection, collection);
+        logger.info("Migrated {} readings into time-series collection {}; {} can be dropped once verified",
+            copied, collection, legacyCollection);
+    }
+
+    private long copyReadings(String from, String to) {
+        mongoTemplate.indexOps(from).ensureIndex(new Index()
+            .on("timestamp", Sort.Direction.ASC)
+            .named("migration_timestamp_idx"));
+
+        Query source = new Query().with(Sort.by(Sort.Direction.ASC, "timestamp"));
+        Set<Object> alreadyCopied = new HashSet<>();
+        Document newest = mongoTemplate.findOne(
+            new Query().with(Sort.by(Sort.Direction.DESC, "timestamp")), Document.class, to);
+        if (newest != null) {
+            Object resumeFrom = newest.get("timestamp");
+            source.addCriteria(Criteria.where("timestamp").gte(resumeFrom));
+            // Readings sharing the newest timestamp may have been only partly copied; time-series
+            // collections do not enforce unique _ids, so skip the ones that are already there
+            Query boundary = new Query(Criteria.where("timestamp").is(resumeFrom));
+            boundary.fields().include("_id");
+            for (Document document : mongoTemplate.find(boundary, Document.class, to)) {
+                alreadyCopied.add(document.get("_id"));
+            }
+            logger.info("Resuming migration into {} from readings at {}", to, resumeFrom);
+        }
+
+        long copied = 0;
+        List<Document> batch = new ArrayList<>(COPY_BATCH_SIZE);
+        try (Stream<Document> documents = mongoTemplate.stream(source, Document.class, from)) {
+            for (Document document : (Iterable<Document>) documents::iterator) {
+                if (alreadyCopied.contains(document.get("_id"))) {
+                    continue;
+                }
+                batch.add(document);
+                if (batch.size() == COPY_BATCH_SIZE) {
+                    copied += insertBatch(to, batch);
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            copied += insertBatch(to, batch);
+        }
+        return copied;
+    }
+
+    public boolean isTimeSeries(String collection) {
+        Document info = mongoTemplate.getDb()
+            .listCollections()
+            .filter(new Document("name", collection))
+            .first();
+        return info != null && "timeseries".equals(info.getString("type"));
+    }
+
+    private void createTimeSeriesCollection(String collection) {
+        Granularity timeSeriesGranularity = Granularity.valueOf(granularity.toUpperCase());
+        mongoTemplate.createCollection(collection, CollectionOptions.timeSeries("timestamp",
+            options -> options.metaField("location").granularity(timeSeriesGranularity)));
+
+        // Same shape as location_timestamp_idx, on the metaField subfields and the timeField
+        mongoTemplate.indexOps(collection).ensureIndex(new Index()
+            .on("location.city", Sort.Direction.ASC)
+            .on("location.state", Sort.Direction.ASC)
+            .on("timestamp", Sort.Direction.DESC)
+            .named("location_timestamp_idx"));
+    }
+
+    private int insertBatch(String collection, List<Document> batch) {
+        int size = batch.size();
+        mongoTemplate.getCollection(collection).insertMany(new ArrayList<>(batch));
+        batch.clear();
+        return size;
+    }
+}
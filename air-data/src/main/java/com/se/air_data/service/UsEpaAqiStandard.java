@@ -0,0 +1,65 @@
+package com.se.air_data.service;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.stereotype.Component;
+
+import com.se.air_data.model.Pollutant;
+
+/**
+ * US EPA AQI (0-500). CO is scored in mg/m³.
+ */
+@Component
+public class UsEpaAqiStandard implements AqiStandard {
+
+    public static final String CODE = "usa_epa";
+
+    private static final int[] AQI_VALUES = {0, 50, 100, 150, 200, 300, 500};
+    private static final int MAX_AQI = 500;
+    // Good, Moderate, Unhealthy for Sensitive Groups, Unhealthy, Very Unhealthy, Hazardous
+    private static final int[] CATEGORY_UPPER_BOUNDS = {50, 100, 150, 200, 300};
+
+    static final BreakpointTable PM25 =
+        new BreakpointTable(new double[]{0, 12, 35.4, 55.4, 150.4, 250.4, 500.4}, AQI_VALUES, MAX_AQI);
+    static final BreakpointTable PM10 =
+        new BreakpointTable(new double[]{0, 54, 154, 254, 354, 424, 604}, AQI_VALUES, MAX_AQI);
+    static final BreakpointTable CO =
+        new BreakpointTable(new double[]{0, 4.4, 9.4, 12.4, 15.4, 30.4, 40.4}, AQI_VALUES, MAX_AQI);
+    static final BreakpointTable NO2 =
+        new BreakpointTable(new double[]{0, 53, 100, 360, 649, 1249, 2049}, AQI_VALUES, MAX_AQI);
+    static final BreakpointTable SO2 =
+        new BreakpointTable(new double[]{0, 35, 75, 185, 304, 604, 1004}, AQI_VALUES, MAX_AQI);
+    static final BreakpointTable O3 =
+        new BreakpointTable(new double[]{0, 54, 70, 85, 105, 200, 405}, AQI_VALUES, MAX_AQI);
+
+    private static final Map<Pollutant, BreakpointTable> TABLES = new EnumMap<>(Map.of(
+        Pollutant.PM2_5, PM25,
+        Pollutant.PM10, PM10,
+        Pollutant.CO, CO,
+        Pollutant.NO2, NO2,
+        Pollutant.SO2, SO2,
+        Pollutant.O3, O3));
+
+    @Override
+    public String getCode() {
+        return CODE;
+    }
+
+    @Override
+    public Set<Pollutant> getPollutants() {
+        return TABLES.keySet();
+    }
+
+    @Override
+    public int subIndex(Pollutant pollutant, double concentration) {
+        double value = pollutant == Pollutant.CO ? concentration / 1000 : concentration;
+        return TABLES.get(pollutant).lookup(value);
+    }
+
+    @Override
+    public int getCategory(int aqi) {
+        return AqiStandard.categoryOf(aqi, CATEGORY_UPPER_BOUNDS);
+    }
+}
@@ -0,0 +1,45 @@
+package com.se.air_data.config.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import com.se.air_data.config.AppConfig;
+
+class AppConfigTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+        .withUserConfiguration(AppConfig.class);
+
+    @Test
+    void testRestTemplateUsesPooledHttpClientWithConfiguredLimits() {
+        contextRunner
+            .withPropertyValues("air-quality.http.max-total=64", "air-quality.http.max-per-route=16")
+            .run(context -> {
+                RestTemplate restTemplate = context.getBean(RestTemplate.class);
+                HttpComponentsClientHttpRequestFactory requestFactory =
+                    assertInstanceOf(HttpComponentsClientHttpRequestFactory.class, restTemplate.getRequestFactory());
+                assertSame(context.getBean(CloseableHttpClient.class), requestFactory.getHttpClient());
+
+                PoolingHttpClientConnectionManager pool = context.getBean(PoolingHttpClientConnectionManager.class);
+                assertEquals(64, pool.getMaxTotal());
+                assertEquals(16, pool.getDefaultMaxPerRoute());
+            });
+    }
+
+    @Test
+    void testPoolLimitsDefault() {
+        contextRunner.run(context -> {
+            PoolingHttpClientConnectionManager pool = context.getBean(PoolingHttpClientConnectionManager.class);
+            assertEquals(50, pool.getMaxTotal());
+            assertEquals(20, pool.getDefaultMaxPerRoute());
+        });
+    }
+}
@@ -0,0 +1,122 @@
+package com.se.air_data.kafka.service.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.se.air_data.entity.AirQualityData;
+import com.se.air_data.kafka.service.AirQualityChangeFilter;
+import com.se.air_data.service.AirQualityRollupService;
+import com.se.air_data.service.AqiEngine;
+import com.se.air_data.service.IndiaCpcbAqiStandard;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class AirQualityChangeFilterTest {
+
+    private static final String KEY = "Pune|Maharashtra";
+
+    private MutableClock clock;
+    private SimpleMeterRegistry meterRegistry;
+    private AirQualityChangeFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock();
+        meterRegistry = new SimpleMeterRegistry();
+        AqiEngine aqiEngine = new AqiEngine(List.of(new IndiaCpcbAqiStandard()), mock(AirQualityRollupService.class));
+        filter = new AirQualityChangeFilter(aqiEngine, meterRegistry, clock);
+        ReflectionTestUtils.setField(filter, "enabled", true);
+    }
+
+    @Test
+    void testSuppressesSmallChanges() {
+        assertTrue(filter.shouldPublish(KEY, reading(80, 40.0)));
+        // AQI +3 and PM2.5 +2 (below 10% of 40) stay within the epsilons
+        assertFalse(filter.shouldPublish(KEY, reading(83, 42.0)));
+        assertEquals(1.0, meterRegistry.get("air_quality.publish.suppressed").counter().count());
+        // Compared against the last published reading, not the last suppressed one
+        assertTrue(filter.shouldPublish(KEY, reading(86, 40.0)));
+    }
+
+    @Test
+    void testPublishesComponentAndCategoryChanges() {
+        assertTrue(filter.shouldPublish(KEY, reading(98, 40.0)));
+        assertTrue(filter.shouldPublish(KEY, reading(98, 45.0)));
+        // 98 -> 101 crosses from Satisfactory to Moderate
+        assertTrue(filter.shouldPublish(KEY, reading(101, 45.0)));
+    }
+
+    @Test
+    void testHeartbeatAndForget() {
+        assertTrue(filter.shouldPublish(KEY, reading(80, 40.0)));
+        assertFalse(filter.shouldPublish(KEY, reading(80, 40.0)));
+        clock.advance(Duration.ofMinutes(60));
+        AirQualityData heartbeat = reading(80, 40.0);
+        assertTrue(filter.shouldPublish(KEY, heartbeat));
+
+        filter.forget(KEY, heartbeat);
+        assertTrue(filter.shouldPublish(KEY, reading(80, 40.0)));
+        assertTrue(filter.shouldPublish("Mumbai|Maharashtra", reading(80, 40.0)));
+    }
+
+    @Test
+    void testLateFailureDoesNotForgetANewerPublish() {
+        AirQualityData failed = reading(80, 40.0);
+        assertTrue(filter.shouldPublish(KEY, failed));
+        assertTrue(filter.shouldPublish(KEY, reading(120, 60.0)));
+
+        // The first send fails after the second reading was published; keep the second
+        filter.forget(KEY, failed);
+
+        assertFalse(filter.shouldPublish(KEY, reading(120, 60.0)));
+    }
+
+    @Test
+    void testDisabledPublishesEverything() {
+        ReflectionTestUtils.setField(filter, "enabled", false);
+
+        assertTrue(filter.shouldPublish(KEY, reading(80, 40.0)));
+        assertTrue(filter.shouldPublish(KEY, reading(80, 40.0)));
+    }
+
+    private AirQualityData reading(int aqi, double pm25) {
+        return new AirQualityData(new AirQualityData.Components(700, 0.5, 30, 50, 14, pm25, 96, 8), aqi,
+            new AirQualityData.Location("Pune", "Maharashtra"));
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant now = Instant.parse("2025-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.se.air_data.kafka.service.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.se.air_data.entity.AirQualityData;
+import com.se.air_data.kafka.service.AirQualityChangeFilter;
+import com.se.air_data.kafka.service.AirQualityPublisher;
+import com.se.air_data.service.AqiEngine;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class AirQualityPublisherTest {
+
+    private KafkaTemplate<String, Map<String, Object>> kafkaTemplate;
+    private SimpleMeterRegistry meterRegistry;
+    private AirQualityPublisher airQualityPublisher;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        kafkaTemplate = mock(KafkaTemplate.class);
+        meterRegistry = new SimpleMeterRegistry();
+        airQualityPublisher = new AirQualityPublisher(kafkaTemplate,
+            new AirQualityChangeFilter(mock(AqiEngine.class), meterRegistry), meterRegistry);
+        ReflectionTestUtils.setField(airQualityPublisher, "airQualityTopic", "test-topic");
+    }
+
+    @Test
+    void testPublishIsKeyedByLocationAndCountsOutcomes() {
+        when(kafkaTemplate.send(eq("test-topic"), eq("Mumbai|Maharashtra"), anyMap()))
+            .thenReturn(CompletableFuture.completedFuture(null));
+        when(kafkaTemplate.send(eq("test-topic"), eq("Guwahati|Assam"), anyMap()))
+            .thenReturn(CompletableFuture.failedFuture(new RuntimeException("broker down")));
+
+        airQualityPublisher.publishAirQualityDataBatch(List.of(
+            reading("Mumbai", "Maharashtra"), reading("Guwahati", "Assam")));
+
+        assertEquals(1.0, count("success"));
+        assertEquals(1.0, count("failure"));
+        verify(kafkaTemplate, never()).flush();
+    }
+
+    private double count(String result) {
+        return meterRegistry.get("air_quality.publish.records").tag("result", result).counter().count();
+    }
+
+    private AirQualityData reading(String city, String state) {
+        AirQualityData data = new AirQualityData(
+            new AirQualityData.Components(700, 0.5, 30, 50, 14, 58, 96, 8), 153,
+            new AirQualityData.Location(city, state));
+        data.setTimestamp(LocalDateTime.now());
+        return data;
+    }
+}
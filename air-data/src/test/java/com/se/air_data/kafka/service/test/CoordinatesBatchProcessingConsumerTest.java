@@ -0,0 +1,87 @@
+package com.se.air_data.kafka.service.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import com.se.air_data.entity.AirQualityData;
+import com.se.air_data.kafka.service.AirQualityPublisher;
+import com.se.air_data.kafka.service.CoordinatesBatchProcessingConsumer;
+import com.se.air_data.model.AQIResult;
+import com.se.air_data.model.Components;
+import com.se.air_data.service.AirQualityService;
+
+class CoordinatesBatchProcessingConsumerTest {
+
+    private AirQualityService airQualityService;
+    private AirQualityPublisher airQualityPublisher;
+    private ExecutorService executor;
+    private CoordinatesBatchProcessingConsumer consumer;
+
+    @BeforeEach
+    void setUp() {
+        airQualityService = mock(AirQualityService.class);
+        airQualityPublisher = mock(AirQualityPublisher.class);
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        consumer = new CoordinatesBatchProcessingConsumer(airQualityService, airQualityPublisher, executor, 2);
+        when(airQualityService.saveAllAirQualityData(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testFailingRecordIsSkippedAndOthersAreBulkInserted() {
+        when(airQualityService.getAirQuality(anyDouble(), anyDouble(), eq("Mumbai"), anyString()))
+            .thenReturn(new AQIResult(mock(Components.class), 153));
+        when(airQualityService.getAirQuality(anyDouble(), anyDouble(), eq("Guwahati"), anyString()))
+            .thenThrow(new RuntimeException("provider down"));
+        when(airQualityService.getAirQuality(anyDouble(), anyDouble(), eq("Pune"), anyString()))
+            .thenReturn(new AQIResult(mock(Components.class), 88));
+
+        consumer.processCoordinatesBatch(List.of(
+            coordinates("Mumbai", "Maharashtra"), coordinates("Guwahati", "Assam"), coordinates("Pune", "Maharashtra")));
+
+        ArgumentCaptor<List<AirQualityData>> saved = ArgumentCaptor.forClass(List.class);
+        verify(airQualityService).saveAllAirQualityData(saved.capture());
+        assertEquals(List.of("Mumbai", "Pune"), saved.getValue().stream().map(data -> data.getLocation().getCity()).toList());
+        assertEquals(List.of(153, 88), saved.getValue().stream().map(AirQualityData::getAqi).toList());
+        verify(airQualityPublisher).publishAirQualityDataBatch(saved.getValue());
+    }
+
+    @Test
+    void testNothingSavedWhenNoRecordCanBeStored() {
+        when(airQualityService.getAirQuality(anyDouble(), anyDouble(), eq("Mumbai"), anyString()))
+            .thenReturn(new AQIResult(null, 153, true));
+        when(airQualityService.getAirQuality(anyDouble(), anyDouble(), eq("Guwahati"), anyString()))
+            .thenThrow(new RuntimeException("provider down"));
+
+        consumer.processCoordinatesBatch(List.of(coordinates("Mumbai", "Maharashtra"), coordinates("Guwahati", "Assam")));
+
+        verify(airQualityService, never()).saveAllAirQualityData(anyList());
+        verify(airQualityPublisher, never()).publishAirQualityDataBatch(anyList());
+    }
+
+    private Map<String, Object> coordinates(String city, String state) {
+        return Map.of("city", city, "state", state, "latitude", 19.07, "longitude", 72.87);
+    }
+}
@@ -0,0 +1,69 @@
+package com.se.air_data.kafka.service.test;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.se.air_data.entity.AirQualityData;
+import com.se.air_data.kafka.service.LocationPublishingProducer;
+import com.se.air_data.service.AirQualityService;
+
+@ExtendWith(MockitoExtension.class)
+public class LocationPublishingProducerTest {
+
+    @Mock
+    private KafkaTemplate<String, Object> kafkaTemplate;
+
+    @Mock
+    private AirQualityService airQualityService;
+
+    @InjectMocks
+    private LocationPublishingProducer locationPublishingProducer;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(locationPublishingProducer, "locationsTopic", "test-topic");
+        when(airQualityService.getAllUniqueLocations()).thenReturn(List.of(
+            new AirQualityData.Location("Mumbai", "Maharashtra"),
+            new AirQualityData.Location("Guwahati", "Assam")));
+    }
+
+    @Test
+    void testPublishUniqueLocations_ListMode() {
+        ReflectionTestUtils.setField(locationPublishingProducer, "publishMode", LocationPublishingProducer.MODE_LIST);
+
+        locationPublishingProducer.publishUniqueLocations();
+
+        verify(kafkaTemplate, times(1)).send(eq("test-topic"), any(List.class));
+        verify(kafkaTemplate, never()).send(anyString(), anyString(), any());
+    }
+
+    @Test
+    void testPublishUniqueLocations_PerLocationMode() {
+        ReflectionTestUtils.setField(locationPublishingProducer, "publishMode", LocationPublishingProducer.MODE_PER_LOCATION);
+        when(kafkaTemplate.send(anyString(), anyString(), any())).thenReturn(new CompletableFuture<>());
+
+        locationPublishingProducer.publishUniqueLocations();
+
+        verify(kafkaTemplate).send("test-topic", "Mumbai|Maharashtra", Map.of("city", "Mumbai", "state", "Maharashtra"));
+        verify(kafkaTemplate).send("test-topic", "Guwahati|Assam", Map.of("city", "Guwahati", "state", "Assam"));
+        verify(kafkaTemplate, times(1)).flush();
+    }
+}
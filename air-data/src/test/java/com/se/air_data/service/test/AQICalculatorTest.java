@@ -0,0 +1,87 @@
+package com.se.air_data.service.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.se.air_data.service.AQICalculator;
+import com.se.air_data.service.BreakpointTable;
+
+class AQICalculatorTest {
+
+    private static final double[] PM25_BREAKPOINTS = {0, 12, 35.4, 55.4, 150.4, 250.4, 500.4};
+    private static final int[] AQI_VALUES = {0, 50, 100, 150, 200, 300, 500};
+
+    @Test
+    void testTableMatchesLinearScanAcrossRange() {
+        BreakpointTable table = new BreakpointTable(PM25_BREAKPOINTS, AQI_VALUES, 500);
+        Random random = new Random(42);
+        for (int i = 0; i < 100_000; i++) {
+            double concentration = random.nextDouble() * 600 - 10;
+            assertEquals(linearScan(concentration), table.lookup(concentration), "concentration " + concentration);
+        }
+        for (double breakpoint : PM25_BREAKPOINTS) {
+            assertEquals(linearScan(breakpoint), table.lookup(breakpoint));
+        }
+        assertEquals(500, table.lookup(Double.NaN));
+        assertEquals(500, table.lookup(500.5));
+    }
+
+    @Test
+    void testKnownValues() {
+        assertEquals(0, AQICalculator.calculateAQI(0, 0, 0, 0, 0, 0));
+        assertEquals(50, AQICalculator.calculateAQI(12, 0, 0, 0, 0, 0));
+        // 35.4 µg/m³ PM2.5 sits exactly on the 100 breakpoint
+        assertEquals(100, AQICalculator.calculateAQI(35.4, 10, 200, 5, 1, 20));
+        // CO is reported in µg/m³ and scored in mg/m³
+        assertEquals(500, AQICalculator.calculateAQI(1, 1, 50_000, 1, 1, 1));
+    }
+
+    @Test
+    void testBatchMatchesSingleCalculation() {
+        int count = 1000;
+        Random random = new Random(7);
+        double[] pm25 = new double[count];
+        double[] pm10 = new double[count];
+        double[] co = new double[count];
+        double[] no2 = new double[count];
+        double[] so2 = new double[count];
+        double[] o3 = new double[count];
+        for (int i = 0; i < count; i++) {
+            pm25[i] = random.nextDouble() * 300;
+            pm10[i] = random.nextDouble() * 400;
+            co[i] = random.nextDouble() * 20_000;
+            no2[i] = random.nextDouble() * 200;
+            so2[i] = random.nextDouble() * 150;
+            o3[i] = random.nextDouble() * 250;
+        }
+        int[] out = new int[count];
+
+        AQICalculator.calculateAQI(pm25, pm10, co, no2, so2, o3, out, count);
+
+        for (int i = 0; i < count; i++) {
+            assertEquals(AQICalculator.calculateAQI(pm25[i], pm10[i], co[i], no2[i], so2[i], o3[i]), out[i]);
+        }
+    }
+
+    @Test
+    void testBatchRejectsShortArrays() {
+        double[] values = new double[2];
+        assertThrows(IllegalArgumentException.class,
+            () -> AQICalculator.calculateAQI(values, values, values, values, values, new double[1], new int[2], 2));
+    }
+
+    // Per-call scan the calculator used before the tables were precomputed
+    private static int linearScan(double concentration) {
+        for (int i = 0; i < PM25_BREAKPOINTS.length - 1; i++) {
+            if (concentration <= PM25_BREAKPOINTS[i + 1]) {
+                return (int) ((AQI_VALUES[i + 1] - AQI_VALUES[i]) / (PM25_BREAKPOINTS[i + 1] - PM25_BREAKPOINTS[i]) *
+                              (concentration - PM25_BREAKPOINTS[i]) + AQI_VALUES[i]);
+            }
+        }
+        return 500;
+    }
+}
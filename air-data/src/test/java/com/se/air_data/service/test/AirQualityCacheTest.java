@@ -0,0 +1,77 @@
+package com.se.air_data.service.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.se.air_data.model.AQIResult;
+import com.se.air_data.service.AirQualityCache;
+import com.se.air_data.util.GeoHash;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class AirQualityCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void testGeoHashEncode() {
+        assertEquals("ezs42", GeoHash.encode(42.6, -5.6, 5));
+        assertEquals("u4pruydqqvj", GeoHash.encode(57.64911, 10.40744, 11));
+    }
+
+    @Test
+    void testHitAndMissMetrics() {
+        AirQualityCache cache = new AirQualityCache(true, 5, 300, 10, meterRegistry);
+
+        assertNull(cache.get(19.07, 72.87));
+        cache.put(19.07, 72.87, new AQIResult(null, 120));
+        assertNotNull(cache.get(19.071, 72.871));
+
+        assertEquals(1.0, meterRegistry.get("air_quality.cache.requests").tag("result", "hit").counter().count());
+        assertEquals(1.0, meterRegistry.get("air_quality.cache.requests").tag("result", "miss").counter().count());
+    }
+
+    @Test
+    void testExpiredEntryIsEvicted() {
+        AirQualityCache cache = new AirQualityCache(true, 5, 0, 10, meterRegistry);
+
+        cache.put(19.07, 72.87, new AQIResult(null, 120));
+
+        assertNull(cache.get(19.07, 72.87));
+        assertEquals(0, cache.size());
+        assertEquals(1.0, meterRegistry.get("air_quality.cache.evictions").tag("cause", "expired").counter().count());
+    }
+
+    @Test
+    void testSizeLimitEvictsLeastRecentlyUsed() {
+        AirQualityCache cache = new AirQualityCache(true, 5, 300, 2, meterRegistry);
+
+        cache.put(19.07, 72.87, new AQIResult(null, 1));   // Mumbai
+        cache.put(28.61, 77.20, new AQIResult(null, 2));   // Delhi
+        cache.get(19.07, 72.87);
+        cache.put(12.97, 77.59, new AQIResult(null, 3));   // Bengaluru
+
+        assertEquals(2, cache.size());
+        assertNotNull(cache.get(19.07, 72.87));
+        assertNull(cache.get(28.61, 77.20));
+        assertEquals(1.0, meterRegistry.get("air_quality.cache.evictions").tag("cause", "size").counter().count());
+    }
+
+    @Test
+    void testDisabledCacheNeverHits() {
+        AirQualityCache cache = new AirQualityCache(false, 5, 300, 10, meterRegistry);
+
+        cache.put(19.07, 72.87, new AQIResult(null, 120));
+
+        assertNull(cache.get(19.07, 72.87));
+    }
+}
@@ -0,0 +1,150 @@
+package com.se.air_data.service.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.query.Query;
+
+import com.se.air_data.entity.AirQualityData;
+import com.se.air_data.model.AirQualityPage;
+import com.se.air_data.service.AirQualityPageService;
+import com.se.air_data.service.TimeSeriesStorageManager;
+
+class AirQualityPageServiceTest {
+
+    private MongoTemplate mongoTemplate;
+    private AirQualityPageService pageService;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate = mock(MongoTemplate.class);
+        pageService = new AirQualityPageService(mongoTemplate, mock(TimeSeriesStorageManager.class));
+    }
+
+    @Test
+    void testFullPageReturnsTokenAndTrimsLookaheadRow() {
+        List<AirQualityData> rows = readings(4);
+        when(mongoTemplate.find(any(Query.class), eq(AirQualityData.class))).thenReturn(rows);
+
+        AirQualityPage page = pageService.getPageByLocation("Pune", null, 3, null);
+
+        assertEquals(3, page.getItems().size());
+        assertNotNull(page.getNextToken());
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).find(query.capture(), eq(AirQualityData.class));
+        assertEquals(4, query.getValue().getLimit());
+    }
+
+    @Test
+    void testTokenSeeksPastLastRow() {
+        List<AirQualityData> rows = readings(3);
+        when(mongoTemplate.find(any(Query.class), eq(AirQualityData.class))).thenReturn(rows).thenReturn(List.of());
+
+        AirQualityPage first = pageService.getPageByAqiRange(0, 500, 2, null);
+        AirQualityPage second = pageService.getPageByAqiRange(0, 500, 2, first.getNextToken());
+
+        assertTrue(second.getItems().isEmpty());
+        assertNull(second.getNextToken());
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate, times(2)).find(query.capture(), eq(AirQualityData.class));
+        String seek = query.getAllValues().get(1).getQueryObject().toString();
+        assertTrue(seek.contains("$or"));
+        assertTrue(seek.contains(rows.get(1).getId()));
+    }
+
+    @Test
+    void testMalformedTokenIsRejected() {
+        assertThrows(IllegalArgumentException.class,
+            () -> pageService.getPageByDateRange(LocalDateTime.now().minusDays(1), LocalDateTime.now(), 10, "not-a-token"));
+    }
+
+    @Test
+    void testEveryPageQueryWalksAnIndexEndingInItsSort() {
+        IndexOperations indexOps = mock(IndexOperations.class);
+        when(mongoTemplate.getCollectionName(AirQualityData.class)).thenReturn("air_quality_data");
+        when(mongoTemplate.indexOps("air_quality_data")).thenReturn(indexOps);
+        when(mongoTemplate.find(any(Query.class), eq(AirQualityData.class))).thenReturn(List.of());
+
+        pageService.ensureIndexes();
+        pageService.getPageByLocation("Pune", "Maharashtra", 10, null);
+        pageService.getPageByLocation("Pune", null, 10, null);
+        pageService.getPageByLocation(null, "Maharashtra", 10, null);
+        pageService.getPageByDateRange(LocalDateTime.now().minusDays(1), LocalDateTime.now(), 10, null);
+        pageService.getPageByAqiRange(0, 500, 10, null);
+
+        ArgumentCaptor<IndexDefinition> indexes = ArgumentCaptor.forClass(IndexDefinition.class);
+        verify(indexOps, times(4)).ensureIndex(indexes.capture());
+        // The deployed location_timestamp_idx keeps its key spec; redefining it would fail startup
+        assertTrue(indexes.getAllValues().stream()
+            .noneMatch(index -> "location_timestamp_idx".equals(index.getIndexOptions().get("name"))));
+        List<List<Map.Entry<String, Object>>> indexKeys = indexes.getAllValues().stream()
+            .map(index -> List.copyOf(index.getIndexKeys().entrySet()))
+            .toList();
+        ArgumentCaptor<Query> queries = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate, times(5)).find(queries.capture(), eq(AirQualityData.class));
+        for (Query query : queries.getAllValues()) {
+            // Equality fields first, then the sort keys in sort order and direction
+            Document expected = new Document();
+            query.getQueryObject().keySet().stream()
+                .filter(field -> field.startsWith("location."))
+                .forEach(field -> expected.append(field, 1));
+            expected.putAll(query.getSortObject());
+            assertTrue(indexKeys.contains(List.copyOf(expected.entrySet())), "No index serves " + query);
+        }
+    }
+
+    @Test
+    void testTimeSeriesReusesLocationTimestampIndex() {
+        TimeSeriesStorageManager timeSeriesStorageManager = mock(TimeSeriesStorageManager.class);
+        IndexOperations indexOps = mock(IndexOperations.class);
+        when(mongoTemplate.getCollectionName(AirQualityData.class)).thenReturn("air_quality_data");
+        when(mongoTemplate.indexOps("air_quality_data")).thenReturn(indexOps);
+        when(timeSeriesStorageManager.isTimeSeries("air_quality_data")).thenReturn(true);
+
+        new AirQualityPageService(mongoTemplate, timeSeriesStorageManager).ensureIndexes();
+
+        ArgumentCaptor<IndexDefinition> indexes = ArgumentCaptor.forClass(IndexDefinition.class);
+        verify(indexOps, times(3)).ensureIndex(indexes.capture());
+        // (city, state, timestamp) is served by the location_timestamp_idx the storage manager created
+        for (IndexDefinition index : indexes.getAllValues()) {
+            assertFalse(index.getIndexKeys().containsKey("location.city")
+                && index.getIndexKeys().containsKey("location.state"));
+            assertFalse(index.getIndexKeys().containsKey("_id"));
+        }
+    }
+
+    private List<AirQualityData> readings(int count) {
+        List<AirQualityData> rows = new ArrayList<>();
+        LocalDateTime timestamp = LocalDateTime.of(2025, 1, 1, 12, 0);
+        for (int i = 0; i < count; i++) {
+            AirQualityData data = new AirQualityData();
+            data.setId(new ObjectId().toHexString());
+            data.setTimestamp(timestamp.minusHours(i));
+            rows.add(data);
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,141 @@
+package com.se.air_data.service.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.se.air_data.entity.AirQualityData;
+import com.se.air_data.entity.AirQualityRollup;
+import com.se.air_data.model.AirQualitySummary;
+import com.se.air_data.model.RollupGranularity;
+import com.se.air_data.repository.AirQualityRepository;
+import com.se.air_data.service.AirQualityRollupService;
+
+class AirQualityRollupServiceTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    private MongoTemplate mongoTemplate;
+    private AirQualityRepository airQualityRepository;
+    private AirQualityRollupService rollupService;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate = mock(MongoTemplate.class);
+        airQualityRepository = mock(AirQualityRepository.class);
+        rollupService = new AirQualityRollupService(mongoTemplate, airQualityRepository);
+    }
+
+    @Test
+    void testRecordUpsertsCountSumMinMaxAndLast() {
+        BulkOperations hourly = mock(BulkOperations.class);
+        BulkOperations daily = mock(BulkOperations.class);
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, AirQualityRollup.class,
+            RollupGranularity.HOURLY.getCollection())).thenReturn(hourly);
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, AirQualityRollup.class,
+            RollupGranularity.DAILY.getCollection())).thenReturn(daily);
+
+        AirQualityData reading = new AirQualityData(
+            new AirQualityData.Components(1.0, 2.0, 3.0, 4.0, 5.0, 42.5, 60.0, 7.0), 120,
+            new AirQualityData.Location("Pune", "Maharashtra"));
+        reading.setTimestamp(START.plusHours(10).plusMinutes(25));
+
+        rollupService.record(List.of(reading));
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(hourly).upsert(query.capture(), update.capture());
+        verify(hourly).execute();
+        verify(daily).execute();
+
+        assertEquals("Pune|Maharashtra|2025-01-01T10", query.getValue().getQueryObject().get("_id"));
+        Document ops = update.getValue().getUpdateObject();
+        Document inc = ops.get("$inc", Document.class);
+        assertEquals(1, inc.get("count"));
+        assertEquals(42.5, inc.get("metrics.pm2_5.sum"));
+        assertEquals(120.0, inc.get("metrics.aqi.sum"));
+        assertEquals(42.5, ops.get("$min", Document.class).get("metrics.pm2_5.min"));
+        assertEquals(42.5, ops.get("$max", Document.class).get("metrics.pm2_5.max"));
+        assertEquals(reading.getTimestamp(), ops.get("$max", Document.class).get("lastTimestamp"));
+        assertEquals(42.5, ops.get("$set", Document.class).get("metrics.pm2_5.last"));
+        assertEquals(START.plusHours(10), ops.get("$setOnInsert", Document.class).get("bucketStart"));
+    }
+
+    @Test
+    void testShortSpanReadsRawReadings() {
+        AirQualityData raw = new AirQualityData(new AirQualityData.Components(), 90,
+            new AirQualityData.Location("Pune", "Maharashtra"));
+        when(airQualityRepository.findByLocationCityAndLocationStateAndTimestampBetween(
+            "Pune", "Maharashtra", START, START.plusHours(48))).thenReturn(List.of(raw));
+
+        List<AirQualityData> readings = rollupService.getReadings("Pune", "Maharashtra", START, START.plusHours(48));
+
+        assertEquals(List.of(raw), readings);
+        verify(mongoTemplate, never()).find(any(Query.class), eq(AirQualityRollup.class), any(String.class));
+    }
+
+    @Test
+    void testMediumSpanReadsHourlyRollups() {
+        when(mongoTemplate.find(any(Query.class), eq(AirQualityRollup.class), eq(RollupGranularity.HOURLY.getCollection())))
+            .thenReturn(List.of(rollup(START.plusHours(3), 4, 400, 80, 150, 120)));
+
+        List<AirQualityData> readings = rollupService.getReadings("Pune", "Maharashtra", START, START.plusDays(7));
+
+        assertEquals(1, readings.size());
+        AirQualityData point = readings.get(0);
+        assertNull(point.getId());
+        assertEquals(START.plusHours(3), point.getTimestamp());
+        assertEquals(100, point.getAqi());
+        assertEquals(10.0, point.getComponents().getPm2_5());
+        verify(airQualityRepository, never()).findByTimestampBetween(any(), any());
+    }
+
+    @Test
+    void testLongSpanReadsDailyRollups() {
+        when(mongoTemplate.find(any(Query.class), eq(AirQualityRollup.class), eq(RollupGranularity.DAILY.getCollection())))
+            .thenReturn(List.of(rollup(START, 24, 2400, 50, 180, 90)));
+
+        List<AirQualitySummary> history = rollupService.getHistory(null, null, START, START.plusDays(61));
+
+        assertEquals(1, history.size());
+        assertEquals("daily", history.get(0).getGranularity());
+        assertEquals(100.0, history.get(0).getAvgAqi());
+        assertEquals(50.0, history.get(0).getMinAqi());
+        assertEquals(180.0, history.get(0).getMaxAqi());
+        assertEquals(90.0, history.get(0).getLastAqi());
+    }
+
+    private AirQualityRollup rollup(LocalDateTime bucketStart, long count, double aqiSum, double aqiMin,
+                                    double aqiMax, double aqiLast) {
+        AirQualityRollup rollup = new AirQualityRollup("id", new AirQualityData.Location("Pune", "Maharashtra"),
+            bucketStart);
+        rollup.setCount(count);
+        Map<String, AirQualityRollup.MetricStats> metrics = new LinkedHashMap<>();
+        for (String metric : List.of("co", "no", "no2", "o3", "so2", "pm10", "nh3")) {
+            metrics.put(metric, new AirQualityRollup.MetricStats(0, 0, 0, 0));
+        }
+        metrics.put("pm2_5", new AirQualityRollup.MetricStats(10.0 * count, 5, 15, 10));
+        metrics.put("aqi", new AirQualityRollup.MetricStats(aqiSum, aqiMin, aqiMax, aqiLast));
+        rollup.setMetrics(metrics);
+        return rollup;
+    }
+}
@@ -0,0 +1,385 @@
+package com.se.air_data.service.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+
+import com.mongodb.bulk.BulkWriteError;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import com.se.air_data.entity.AirQualityData;
+import com.se.air_data.model.AQIResult;
+import com.se.air_data.model.AirQualityResponse;
+import com.se.air_data.model.Components;
+import com.se.air_data.model.GoogleAirQualityRequest;
+import com.se.air_data.model.GoogleAirQualityResponse;
+import com.se.air_data.model.Main;
+import com.se.air_data.model.Pollutant;
+import com.se.air_data.repository.AirQualityRepository;
+import com.se.air_data.service.AirQualityCache;
+import com.se.air_data.service.AirQualityRollupService;
+import com.se.air_data.service.AirQualityService;
+import com.se.air_data.service.AqiEngine;
+import com.se.air_data.service.EuCaqiStandard;
+import com.se.air_data.service.HedgeBudget;
+import com.se.air_data.service.IndiaCpcbAqiStandard;
+import com.se.air_data.service.LatestReadingView;
+import com.se.air_data.service.LocationRegistry;
+import com.se.air_data.service.ProviderLatencyTracker;
+import com.se.air_data.service.UsEpaAqiStandard;
+
+class AirQualityServiceTest {
+
+    private RestTemplate restTemplate;
+    private ExecutorService executor;
+    private AirQualityCache airQualityCache;
+    private AirQualityService airQualityService;
+    private ProviderLatencyTracker latencyTracker;
+
+    @BeforeEach
+    void setUp() {
+        restTemplate = mock(RestTemplate.class);
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        airQualityCache = new AirQualityCache(true, 5, 300, 100, new SimpleMeterRegistry());
+        latencyTracker = new ProviderLatencyTracker(new SimpleMeterRegistry());
+        airQualityService = newService(airQualityCache);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testGetAirQuality_BothProvidersAnswer() {
+        Components components = components(20.0);
+        stubGoogle(145, 0);
+        stubOpenWeather(components, 0);
+
+        AQIResult result = airQualityService.getAirQuality(26.1, 91.7);
+
+        assertEquals(145, result.getAqi());
+        assertSame(components, result.getComponents());
+        assertFalse(result.isPartial());
+    }
+
+    @Test
+    void testGetAirQuality_RunsProvidersConcurrently() {
+        ReflectionTestUtils.setField(airQualityService, "googleTimeoutMs", 10_000L);
+        ReflectionTestUtils.setField(airQualityService, "openWeatherTimeoutMs", 10_000L);
+        // Each provider only answers once both have been called, which sequential calls never reach
+        CountDownLatch bothCalled = new CountDownLatch(2);
+        GoogleAirQualityResponse google = googleResponse(145);
+        AirQualityResponse openWeather = openWeatherResponse(components(20.0));
+        when(restTemplate.postForObject(anyString(), any(GoogleAirQualityRequest.class), eq(GoogleAirQualityResponse.class)))
+            .thenAnswer(invocation -> awaitBoth(bothCalled, google));
+        when(restTemplate.getForObject(anyString(), eq(AirQualityResponse.class)))
+            .thenAnswer(invocation -> awaitBoth(bothCalled, openWeather));
+
+        AQIResult result = airQualityService.getAirQuality(26.1, 91.7);
+
+        assertFalse(result.isPartial());
+        assertEquals(145, result.getAqi());
+    }
+
+    @Test
+    void testGetAirQuality_GoogleTimeoutFallsBackToLocalAqi() {
+        Components components = components(20.0);
+        stubGoogle(145, 1000);
+        stubOpenWeather(components, 0);
+
+        AQIResult result = airQualityService.getAirQuality(26.1, 91.7);
+
+        assertTrue(result.isPartial());
+        assertSame(components, result.getComponents());
+        // Scored with the default CPCB standard: 20 µg/m³ PM2.5 is sub-index 33
+        assertEquals(33, result.getAqi());
+        assertEquals(Pollutant.PM2_5, result.getDominantPollutant());
+    }
+
+    @Test
+    void testGetAirQuality_AutoSourceSkipsGoogleWhenLocalIndexIsValid() {
+        ReflectionTestUtils.setField(airQualityService, "aqiSource", "auto");
+        stubGoogle(145, 0);
+        stubOpenWeather(components(95.0), 0);
+
+        AQIResult result = airQualityService.getAirQuality(26.1, 91.7);
+
+        assertFalse(result.isPartial());
+        assertEquals(216, result.getAqi());
+        verify(restTemplate, never())
+            .postForObject(anyString(), any(GoogleAirQualityRequest.class), eq(GoogleAirQualityResponse.class));
+    }
+
+    @Test
+    void testGetAirQuality_LocalSourceMarksInvalidIndexPartial() {
+        ReflectionTestUtils.setField(airQualityService, "aqiSource", "local");
+        Components components = components(-1.0);
+        when(components.getPm10()).thenReturn(-1.0);
+        stubOpenWeather(components, 0);
+
+        AQIResult result = airQualityService.getAirQuality(26.1, 91.7);
+
+        // Without PM the CPCB index may not be published
+        assertTrue(result.isPartial());
+        verify(restTemplate, never())
+            .postForObject(anyString(), any(GoogleAirQualityRequest.class), eq(GoogleAirQualityResponse.class));
+    }
+
+    @Test
+    void testGetAirQuality_OpenWeatherTimeoutReturnsAqiOnly() {
+        stubGoogle(145, 0);
+        stubOpenWeather(components(20.0), 1000);
+
+        AQIResult result = airQualityService.getAirQuality(26.1, 91.7);
+
+        assertTrue(result.isPartial());
+        assertNull(result.getComponents());
+        assertEquals(145, result.getAqi());
+    }
+
+    @Test
+    void testGetAirQuality_NearbyCoordinatesServedFromCache() {
+        stubGoogle(145, 0);
+        stubOpenWeather(components(20.0), 0);
+
+        AQIResult first = airQualityService.getAirQuality(26.1000, 91.7000);
+        AQIResult second = airQualityService.getAirQuality(26.1001, 91.7001);
+
+        assertSame(first, second);
+        verify(restTemplate, times(1)).getForObject(anyString(), eq(AirQualityResponse.class));
+    }
+
+    @Test
+    void testGetAirQuality_PartialResultIsNotCached() {
+        stubGoogle(145, 0);
+        stubOpenWeather(components(20.0), 1000);
+
+        airQualityService.getAirQuality(26.1, 91.7);
+
+        assertEquals(0, airQualityCache.size());
+    }
+
+    @Test
+    void testGetAirQuality_ConcurrentCallersShareOneFetch() throws Exception {
+        airQualityService = newService(new AirQualityCache(false, 5, 300, 100, new SimpleMeterRegistry()));
+        ReflectionTestUtils.setField(airQualityService, "googleTimeoutMs", 1000L);
+        ReflectionTestUtils.setField(airQualityService, "openWeatherTimeoutMs", 1000L);
+        stubGoogle(145, 150);
+        stubOpenWeather(components(20.0), 150);
+
+        List<Future<AQIResult>> results = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            results.add(executor.submit(() -> airQualityService.getAirQuality(26.1, 91.7)));
+        }
+        for (Future<AQIResult> result : results) {
+            assertEquals(145, result.get().getAqi());
+        }
+
+        verify(restTemplate, times(1)).getForObject(anyString(), eq(AirQualityResponse.class));
+        assertEquals(0, airQualityService.getInFlightRequestCount());
+    }
+
+    @Test
+    void testGetAirQuality_RechecksCacheAfterWinningSingleFlight() {
+        AirQualityCache cache = mock(AirQualityCache.class);
+        AQIResult cached = new AQIResult(components(20.0), 145);
+        // Miss on the first check, then the previous leader's result is there
+        when(cache.get(26.1, 91.7)).thenReturn(null, cached);
+        airQualityService = newService(cache);
+
+        assertSame(cached, airQualityService.getAirQuality(26.1, 91.7));
+
+        verify(restTemplate, never()).getForObject(anyString(), eq(AirQualityResponse.class));
+        verify(restTemplate, never())
+            .postForObject(anyString(), any(GoogleAirQualityRequest.class), eq(GoogleAirQualityResponse.class));
+        assertEquals(0, airQualityService.getInFlightRequestCount());
+    }
+
+    @Test
+    void testGetAirQuality_BothProvidersFail() {
+        when(restTemplate.postForObject(anyString(), any(GoogleAirQualityRequest.class), eq(GoogleAirQualityResponse.class)))
+            .thenThrow(new RuntimeException("google down"));
+        when(restTemplate.getForObject(anyString(), eq(AirQualityResponse.class)))
+            .thenThrow(new RuntimeException("openweather down"));
+
+        assertThrows(RuntimeException.class, () -> airQualityService.getAirQuality(26.1, 91.7));
+    }
+
+    @Test
+    void testGetAirQuality_HedgesSlowGoogleRequest() throws Exception {
+        ReflectionTestUtils.setField(airQualityService, "hedgingEnabled", true);
+        ReflectionTestUtils.setField(airQualityService, "googleTimeoutMs", 1000L);
+        for (int i = 0; i < 20; i++) {
+            latencyTracker.record("google", 20_000_000L);
+        }
+        assertEquals(20, latencyTracker.percentileMillis("google", 0.95));
+
+        GoogleAirQualityResponse response = googleResponse(145);
+        // The first attempt stalls until the call has returned, so only the hedge can answer in time;
+        // without it Google times out and the result is partial
+        CountDownLatch callReturned = new CountDownLatch(1);
+        when(restTemplate.postForObject(anyString(), any(GoogleAirQualityRequest.class), eq(GoogleAirQualityResponse.class)))
+            .thenAnswer(invocation -> {
+                callReturned.await(5, TimeUnit.SECONDS);
+                return response;
+            })
+            .thenReturn(response);
+        stubOpenWeather(components(20.0), 0);
+
+        AQIResult result;
+        try {
+            result = airQualityService.getAirQuality(26.1, 91.7);
+        } finally {
+            callReturned.countDown();
+        }
+
+        assertFalse(result.isPartial());
+        assertEquals(145, result.getAqi());
+        verify(restTemplate, times(2))
+            .postForObject(anyString(), any(GoogleAirQualityRequest.class), eq(GoogleAirQualityResponse.class));
+    }
+
+    @Test
+    void testGetAirQuality_NoHedgeWithoutLatencyHistory() {
+        ReflectionTestUtils.setField(airQualityService, "hedgingEnabled", true);
+        stubGoogle(145, 100);
+        stubOpenWeather(components(20.0), 0);
+
+        AQIResult result = airQualityService.getAirQuality(26.1, 91.7);
+
+        assertEquals(145, result.getAqi());
+        verify(restTemplate, times(1))
+            .postForObject(anyString(), any(GoogleAirQualityRequest.class), eq(GoogleAirQualityResponse.class));
+    }
+
+    @Test
+    void testSaveAll_ContinuesWithInsertedSubsetAndSkipsPartialRollups() {
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        BulkOperations bulkOps = mock(BulkOperations.class);
+        LatestReadingView latestReadingView = mock(LatestReadingView.class);
+        AirQualityRollupService rollupService = mock(AirQualityRollupService.class);
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, AirQualityData.class)).thenReturn(bulkOps);
+        when(bulkOps.insert(anyList())).thenReturn(bulkOps);
+        BulkWriteError duplicate = mock(BulkWriteError.class);
+        when(duplicate.getIndex()).thenReturn(1);
+        BulkOperationException failure = mock(BulkOperationException.class);
+        when(failure.getErrors()).thenReturn(List.of(duplicate));
+        when(bulkOps.execute()).thenThrow(failure);
+        AirQualityService service = new AirQualityService(mock(AirQualityRepository.class), mongoTemplate,
+            restTemplate, executor, airQualityCache, mock(LocationRegistry.class), latestReadingView,
+            rollupService, mock(AqiEngine.class), latencyTracker, new HedgeBudget(new SimpleMeterRegistry()));
+
+        AirQualityData complete = reading("Pune", new AirQualityData.Components());
+        AirQualityData rejected = reading("Nagpur", new AirQualityData.Components());
+        AirQualityData partial = reading("Nashik", null);
+
+        List<AirQualityData> saved = service.saveAllAirQualityData(List.of(complete, rejected, partial));
+
+        assertEquals(List.of(complete, partial), saved);
+        verify(latestReadingView, never()).record(rejected);
+        verify(rollupService).record(List.of(complete));
+    }
+
+    private AirQualityData reading(String city, AirQualityData.Components components) {
+        AirQualityData data = new AirQualityData();
+        data.setLocation(new AirQualityData.Location(city, "Maharashtra"));
+        data.setComponents(components);
+        return data;
+    }
+
+    private AirQualityService newService(AirQualityCache cache) {
+        AirQualityService service = new AirQualityService(mock(AirQualityRepository.class), mock(MongoTemplate.class),
+            restTemplate, executor, cache, mock(LocationRegistry.class), mock(LatestReadingView.class),
+            mock(AirQualityRollupService.class), new AqiEngine(
+                List.of(new IndiaCpcbAqiStandard(), new UsEpaAqiStandard(), new EuCaqiStandard()),
+                mock(AirQualityRollupService.class)),
+            latencyTracker, new HedgeBudget(new SimpleMeterRegistry()));
+        ReflectionTestUtils.setField(service, "API_URL", "http://openweather");
+        ReflectionTestUtils.setField(service, "API_KEY", "ow-key");
+        ReflectionTestUtils.setField(service, "AQI_API_URL", "http://google");
+        ReflectionTestUtils.setField(service, "AQI_API_KEY", "g-key");
+        ReflectionTestUtils.setField(service, "googleTimeoutMs", 200L);
+        ReflectionTestUtils.setField(service, "openWeatherTimeoutMs", 200L);
+        return service;
+    }
+
+    private Components components(double pm25) {
+        Components components = mock(Components.class);
+        when(components.getPm2_5()).thenReturn(pm25);
+        return components;
+    }
+
+    private void stubGoogle(int aqi, long delayMs) {
+        GoogleAirQualityResponse response = googleResponse(aqi);
+        when(restTemplate.postForObject(anyString(), any(GoogleAirQualityRequest.class), eq(GoogleAirQualityResponse.class)))
+            .thenAnswer(invocation -> {
+                Thread.sleep(delayMs);
+                return response;
+            });
+    }
+
+    private GoogleAirQualityResponse googleResponse(int aqi) {
+        GoogleAirQualityResponse.Index index = new GoogleAirQualityResponse.Index();
+        index.setCode("ind_cpcb");
+        index.setAqi(aqi);
+        GoogleAirQualityResponse response = new GoogleAirQualityResponse();
+        response.setIndexes(List.of(index));
+        return response;
+    }
+
+    private AirQualityResponse openWeatherResponse(Components components) {
+        Main main = mock(Main.class);
+        when(main.getComponents()).thenReturn(components);
+        AirQualityResponse response = mock(AirQualityResponse.class);
+        when(response.getList()).thenReturn(List.of(main));
+        return response;
+    }
+
+    private static <T> T awaitBoth(CountDownLatch bothCalled, T response) throws InterruptedException {
+        bothCalled.countDown();
+        if (!bothCalled.await(5, TimeUnit.SECONDS)) {
+            throw new IllegalStateException("Providers were not called concurrently");
+        }
+        return response;
+    }
+
+    private void stubOpenWeather(Components components, long delayMs) {
+        AirQualityResponse response = openWeatherResponse(components);
+        when(restTemplate.getForObject(anyString(), eq(AirQualityResponse.class)))
+            .thenAnswer(invocation -> {
+                Thread.sleep(delayMs);
+                return response;
+            });
+    }
+}
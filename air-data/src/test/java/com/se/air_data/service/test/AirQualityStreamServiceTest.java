@@ -0,0 +1,92 @@
+package com.se.air_data.service.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.se.air_data.entity.AirQualityData;
+import com.se.air_data.service.AirQualityStreamService;
+
+class AirQualityStreamServiceTest {
+
+    private MongoTemplate mongoTemplate;
+    private ObjectMapper objectMapper;
+    private AirQualityStreamService streamService;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate = mock(MongoTemplate.class);
+        objectMapper = new ObjectMapper().findAndRegisterModules();
+        streamService = new AirQualityStreamService(mongoTemplate, objectMapper);
+        ReflectionTestUtils.setField(streamService, "flushEvery", 2);
+    }
+
+    @Test
+    void testStreamWritesOneJsonDocumentPerLine() throws Exception {
+        when(mongoTemplate.stream(any(Query.class), eq(AirQualityData.class)))
+            .thenReturn(Stream.of(reading("1", 50), reading("2", 120), reading("3", 210)));
+
+        List<String> lines = write(streamService.streamAll(null));
+
+        assertEquals(3, lines.size());
+        assertEquals("1", objectMapper.readValue(lines.get(0), AirQualityData.class).getId());
+        assertEquals(120, objectMapper.readValue(lines.get(1), AirQualityData.class).getAqi());
+        assertEquals("3", objectMapper.readValue(lines.get(2), AirQualityData.class).getId());
+    }
+
+    @Test
+    void testRequestedLimitIsCappedByMaxLimit() throws Exception {
+        ReflectionTestUtils.setField(streamService, "maxLimit", 100);
+
+        assertEquals(100, streamedLimit(500));
+        assertEquals(20, streamedLimit(20));
+        assertEquals(100, streamedLimit(null));
+    }
+
+    @Test
+    void testNoLimitWhenMaxLimitIsZero() throws Exception {
+        assertEquals(0, streamedLimit(null));
+        assertEquals(500, streamedLimit(500));
+    }
+
+    private int streamedLimit(Integer limit) throws Exception {
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        when(mongoTemplate.stream(query.capture(), eq(AirQualityData.class))).thenReturn(Stream.empty());
+
+        write(streamService.streamByLocation("Pune", null, limit));
+
+        return query.getValue().getLimit();
+    }
+
+    private List<String> write(StreamingResponseBody body) throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        body.writeTo(output);
+        String text = output.toString(StandardCharsets.UTF_8);
+        return text.isEmpty() ? List.of() : List.of(text.split("\n"));
+    }
+
+    private AirQualityData reading(String id, int aqi) {
+        AirQualityData data = new AirQualityData(new AirQualityData.Components(), aqi,
+            new AirQualityData.Location("Pune", "Maharashtra"));
+        data.setId(id);
+        data.setTimestamp(LocalDateTime.of(2025, 1, 1, 10, 0));
+        return data;
+    }
+}
@@ -0,0 +1,119 @@
+package com.se.air_data.service.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.se.air_data.entity.AirQualityRollup;
+import com.se.air_data.model.AqiBreakdown;
+import com.se.air_data.model.Components;
+import com.se.air_data.model.Pollutant;
+import com.se.air_data.service.AirQualityRollupService;
+import com.se.air_data.service.AqiEngine;
+import com.se.air_data.service.EuCaqiStandard;
+import com.se.air_data.service.IndiaCpcbAqiStandard;
+import com.se.air_data.service.UsEpaAqiStandard;
+
+class AqiEngineTest {
+
+    private AirQualityRollupService airQualityRollupService;
+    private AqiEngine aqiEngine;
+
+    @BeforeEach
+    void setUp() {
+        airQualityRollupService = mock(AirQualityRollupService.class);
+        aqiEngine = new AqiEngine(List.of(new IndiaCpcbAqiStandard(), new UsEpaAqiStandard(), new EuCaqiStandard()),
+            airQualityRollupService);
+    }
+
+    @Test
+    void testCpcbSubIndicesAndDominantPollutant() {
+        // 4000 µg/m³ CO is 4 mg/m³, sub-index 125
+        Components components = components(45, 80, 30, 60, 4000, 20, 100);
+
+        AqiBreakdown breakdown = aqiEngine.calculate(IndiaCpcbAqiStandard.CODE, components, null, null);
+
+        assertEquals(75, breakdown.getSubIndices().get(Pollutant.PM2_5));
+        assertEquals(80, breakdown.getSubIndices().get(Pollutant.PM10));
+        assertEquals(125, breakdown.getSubIndices().get(Pollutant.CO));
+        assertEquals(125, breakdown.getAqi());
+        assertEquals(Pollutant.CO, breakdown.getDominantPollutant());
+        assertTrue(breakdown.isValid());
+    }
+
+    @Test
+    void testCpcbNeedsParticulateMatter() {
+        Map<Pollutant, Double> concentrations = new EnumMap<>(Pollutant.class);
+        concentrations.put(Pollutant.NO2, 30.0);
+        concentrations.put(Pollutant.O3, 60.0);
+        concentrations.put(Pollutant.SO2, 20.0);
+
+        AqiBreakdown breakdown = aqiEngine.score(aqiEngine.getStandard(IndiaCpcbAqiStandard.CODE), concentrations);
+
+        assertFalse(breakdown.isValid());
+    }
+
+    @Test
+    void testOtherStandards() {
+        Components components = components(12, 54, 50, 50, 0, 10, 0);
+
+        assertEquals(50, aqiEngine.calculate(UsEpaAqiStandard.CODE, components, null, null).getAqi());
+        AqiBreakdown caqi = aqiEngine.calculate(EuCaqiStandard.CODE, components, null, null);
+        assertEquals(52, caqi.getAqi());
+        assertEquals(Pollutant.PM10, caqi.getDominantPollutant());
+        assertTrue(caqi.isValid());
+        assertThrows(IllegalArgumentException.class, () -> aqiEngine.calculate("unknown", components, null, null));
+    }
+
+    @Test
+    void testCpcbAveragesOverRollupWindows() {
+        LocalDateTime currentHour = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS);
+        // 12 hours ago: inside the 24h PM window, outside the 8h O3 window
+        AirQualityRollup older = rollup(currentHour.minusHours(12), 3, 90, 300);
+        when(airQualityRollupService.getHourlyRollups(eq("Pune"), eq("Maharashtra"), any(LocalDateTime.class)))
+            .thenReturn(List.of(older));
+        Components components = components(30, 50, 0, 0, 0, 0, 0);
+
+        AqiBreakdown breakdown = aqiEngine.calculate(IndiaCpcbAqiStandard.CODE, components, "Pune", "Maharashtra");
+
+        // PM2.5 averages (30 + 3 * 90) / 4 = 75 -> 150; O3 ignores the old bucket
+        assertEquals(150, breakdown.getSubIndices().get(Pollutant.PM2_5));
+        assertEquals(0, breakdown.getSubIndices().get(Pollutant.O3));
+    }
+
+    private AirQualityRollup rollup(LocalDateTime bucketStart, long count, double pm25Average, double o3Average) {
+        AirQualityRollup rollup = new AirQualityRollup();
+        rollup.setBucketStart(bucketStart);
+        rollup.setCount(count);
+        rollup.setMetrics(Map.of(
+            "pm2_5", new AirQualityRollup.MetricStats(pm25Average * count, pm25Average, pm25Average, pm25Average),
+            "o3", new AirQualityRollup.MetricStats(o3Average * count, o3Average, o3Average, o3Average)));
+        return rollup;
+    }
+
+    private Components components(double pm25, double pm10, double no2, double o3, double co, double so2, double nh3) {
+        Components components = mock(Components.class);
+        when(components.getPm2_5()).thenReturn(pm25);
+        when(components.getPm10()).thenReturn(pm10);
+        when(components.getNo2()).thenReturn(no2);
+        when(components.getO3()).thenReturn(o3);
+        when(components.getCo()).thenReturn(co);
+        when(components.getSo2()).thenReturn(so2);
+        when(components.getNh3()).thenReturn(nh3);
+        return components;
+    }
+}
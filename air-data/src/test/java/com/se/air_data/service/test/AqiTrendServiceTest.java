@@ -0,0 +1,85 @@
+package com.se.air_data.service.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationResults;
+
+import com.se.air_data.entity.AirQualityData;
+import com.se.air_data.model.AqiTrendBucket;
+import com.se.air_data.model.TrendInterval;
+import com.se.air_data.service.AqiTrendService;
+
+class AqiTrendServiceTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    private MongoTemplate mongoTemplate;
+    private AqiTrendService aqiTrendService;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate = mock(MongoTemplate.class);
+        when(mongoTemplate.getCollectionName(AirQualityData.class)).thenReturn("air_quality_data");
+        aqiTrendService = new AqiTrendService(mongoTemplate);
+    }
+
+    @Test
+    void testIntervalForSpan() {
+        assertEquals(TrendInterval.HOUR, TrendInterval.forSpan(START, START.plusHours(48)));
+        assertEquals(TrendInterval.DAY, TrendInterval.forSpan(START, START.plusDays(3)));
+        assertEquals(TrendInterval.DAY, TrendInterval.forSpan(START, START.plusDays(90)));
+        assertEquals(TrendInterval.WEEK, TrendInterval.forSpan(START, START.plusDays(91)));
+    }
+
+    @Test
+    void testBucketsByIntervalWithServerSidePercentile() {
+        Document row = new Document("_id", Date.from(START.atZone(ZoneId.systemDefault()).toInstant()))
+            .append("count", 24)
+            .append("minAqi", 40)
+            .append("maxAqi", 180)
+            .append("avgAqi", 95.5)
+            .append("p95Aqi", List.of(171.6))
+            .append("pm2_5", 42.0);
+        when(mongoTemplate.aggregate(any(Aggregation.class), eq("air_quality_data"), eq(Document.class)))
+            .thenReturn(new AggregationResults<>(List.of(row), new Document()));
+
+        List<AqiTrendBucket> buckets = aqiTrendService.getAqiTrend("Pune", "Maharashtra", START, START.plusDays(7),
+            TrendInterval.DAY);
+
+        ArgumentCaptor<Aggregation> captor = ArgumentCaptor.forClass(Aggregation.class);
+        verify(mongoTemplate).aggregate(captor.capture(), eq("air_quality_data"), eq(Document.class));
+        List<Document> pipeline = captor.getValue().toPipeline(Aggregation.DEFAULT_CONTEXT);
+        Document group = pipeline.get(1).get("$group", Document.class);
+        Document bucketStart = group.get("_id", Document.class).get("$dateTrunc", Document.class);
+        assertEquals("day", bucketStart.getString("unit"));
+        assertEquals("$aqi", group.get("p95Aqi", Document.class).get("$percentile", Document.class).get("input"));
+        // No per-bucket AQI arrays are shipped back to the application
+        assertFalse(group.toJson().contains("$push"));
+
+        assertEquals(1, buckets.size());
+        AqiTrendBucket bucket = buckets.get(0);
+        assertEquals(START, bucket.getBucketStart());
+        assertEquals(24, bucket.getCount());
+        assertEquals(40, bucket.getMinAqi());
+        assertEquals(180, bucket.getMaxAqi());
+        assertEquals(172, bucket.getP95Aqi());
+        assertEquals(42.0, bucket.getAvgComponents().getPm2_5());
+    }
+}
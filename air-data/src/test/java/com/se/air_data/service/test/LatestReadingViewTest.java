@@ -0,0 +1,95 @@
+package com.se.air_data.service.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.se.air_data.entity.AirQualityData;
+import com.se.air_data.repository.AirQualityRepository;
+import com.se.air_data.service.LatestReadingView;
+import com.se.air_data.service.LocationRegistry;
+
+class LatestReadingViewTest {
+
+    private AirQualityRepository airQualityRepository;
+    private LocationRegistry locationRegistry;
+    private LatestReadingView latestReadingView;
+
+    @BeforeEach
+    void setUp() {
+        airQualityRepository = mock(AirQualityRepository.class);
+        locationRegistry = mock(LocationRegistry.class);
+        latestReadingView = new LatestReadingView(airQualityRepository, locationRegistry);
+    }
+
+    @Test
+    void testRecordKeepsNewestPerKey() {
+        AirQualityData older = reading("1", "Pune", "Maharashtra", 10);
+        AirQualityData newer = reading("2", "Pune", "Maharashtra", 20);
+        AirQualityData otherCity = reading("3", "Mumbai", "Maharashtra", 15);
+
+        latestReadingView.record(newer);
+        latestReadingView.record(older);
+        latestReadingView.record(otherCity);
+
+        assertEquals("2", latestReadingView.getLatestForLocation("Pune", "Maharashtra").getId());
+        assertEquals("2", latestReadingView.getLatestForCity("Pune").getId());
+        assertEquals("2", latestReadingView.getLatestForState("Maharashtra").getId());
+        assertEquals("3", latestReadingView.getLatestForCity("Mumbai").getId());
+        assertEquals("2", latestReadingView.getLatest().getId());
+        assertNull(latestReadingView.getLatestForLocation("Pune", "Goa"));
+    }
+
+    @Test
+    void testRemoveReloadsFromRepository() {
+        AirQualityData older = reading("1", "Pune", "Maharashtra", 10);
+        AirQualityData newer = reading("2", "Pune", "Maharashtra", 20);
+        latestReadingView.record(newer);
+        when(airQualityRepository.findTopByLocationCityAndLocationStateOrderByTimestampDesc("Pune", "Maharashtra"))
+            .thenReturn(older);
+        when(airQualityRepository.findTopByLocationCityOrderByTimestampDesc("Pune")).thenReturn(older);
+        when(airQualityRepository.findTopByLocationStateOrderByTimestampDesc("Maharashtra")).thenReturn(older);
+        when(airQualityRepository.findTopByOrderByTimestampDesc()).thenReturn(older);
+
+        latestReadingView.remove(newer);
+
+        assertEquals("1", latestReadingView.getLatestForLocation("Pune", "Maharashtra").getId());
+        assertEquals("1", latestReadingView.getLatest().getId());
+    }
+
+    @Test
+    void testRebuildLooksUpEachRegisteredLocation() {
+        when(locationRegistry.getLocations()).thenReturn(List.of(
+            new AirQualityData.Location("Pune", "Maharashtra"), new AirQualityData.Location("Panaji", "Goa")));
+        when(airQualityRepository.findTopByLocationCityAndLocationStateOrderByTimestampDesc("Pune", "Maharashtra"))
+            .thenReturn(reading("1", "Pune", "Maharashtra", 10));
+        when(airQualityRepository.findTopByLocationCityAndLocationStateOrderByTimestampDesc("Panaji", "Goa"))
+            .thenReturn(reading("2", "Panaji", "Goa", 20));
+
+        latestReadingView.rebuild();
+
+        assertEquals("1", latestReadingView.getLatestForLocation("Pune", "Maharashtra").getId());
+        assertEquals("2", latestReadingView.getLatestForState("Goa").getId());
+        assertEquals("2", latestReadingView.getLatest().getId());
+        verify(airQualityRepository).findTopByLocationCityAndLocationStateOrderByTimestampDesc("Pune", "Maharashtra");
+        verify(airQualityRepository).findTopByLocationCityAndLocationStateOrderByTimestampDesc("Panaji", "Goa");
+        verifyNoMoreInteractions(airQualityRepository);
+    }
+
+    private AirQualityData reading(String id, String city, String state, int minute) {
+        AirQualityData data = new AirQualityData(new AirQualityData.Components(), 100,
+            new AirQualityData.Location(city, state));
+        data.setId(id);
+        data.setTimestamp(LocalDateTime.of(2025, 1, 1, 10, minute));
+        return data;
+    }
+}
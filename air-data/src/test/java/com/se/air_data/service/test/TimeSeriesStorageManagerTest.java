@@ -0,0 +1,134 @@
+package com.se.air_data.service.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.CollectionOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.mongodb.MongoNamespace;
+import com.mongodb.client.ListCollectionsIterable;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import com.se.air_data.entity.AirQualityData;
+import com.se.air_data.service.TimeSeriesStorageManager;
+
+class TimeSeriesStorageManagerTest {
+
+    private static final String COLLECTION = "air_quality_data";
+    private static final String LEGACY = COLLECTION + "_legacy";
+
+    private MongoTemplate mongoTemplate;
+    private MongoDatabase database;
+    private MongoCollection<Document> collection;
+    private TimeSeriesStorageManager storageManager;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        mongoTemplate = mock(MongoTemplate.class);
+        database = mock(MongoDatabase.class);
+        collection = mock(MongoCollection.class);
+        when(mongoTemplate.getCollectionName(AirQualityData.class)).thenReturn(COLLECTION);
+        when(mongoTemplate.getDb()).thenReturn(database);
+        when(database.getName()).thenReturn("airaware");
+        when(mongoTemplate.getCollection(COLLECTION)).thenReturn(collection);
+        when(mongoTemplate.indexOps(any(String.class))).thenReturn(mock(IndexOperations.class));
+
+        ListCollectionsIterable<Document> listing = mock(ListCollectionsIterable.class);
+        when(database.listCollections()).thenReturn(listing);
+        when(listing.filter(any())).thenReturn(listing);
+
+        storageManager = new TimeSeriesStorageManager(mongoTemplate);
+        ReflectionTestUtils.setField(storageManager, "enabled", true);
+        ReflectionTestUtils.setField(storageManager, "migrateOnStartup", true);
+    }
+
+    @Test
+    void testInitialize_CreatesTimeSeriesCollectionWhenMissing() {
+        when(mongoTemplate.collectionExists(COLLECTION)).thenReturn(false);
+        when(mongoTemplate.collectionExists(LEGACY)).thenReturn(false);
+
+        storageManager.initialize();
+
+        verify(mongoTemplate).createCollection(eq(COLLECTION), any(CollectionOptions.class));
+        verify(collection, never()).renameCollection(any(MongoNamespace.class));
+        verify(mongoTemplate, never()).stream(any(Query.class), eq(Document.class), any(String.class));
+    }
+
+    @Test
+    void testInitialize_MigratesRegularCollection() {
+        when(mongoTemplate.collectionExists(COLLECTION)).thenReturn(true);
+        when(mongoTemplate.collectionExists(LEGACY)).thenReturn(false);
+        when(database.listCollections().filter(any()).first()).thenReturn(new Document("type", "collection"));
+        when(mongoTemplate.stream(any(Query.class), eq(Document.class), eq(LEGACY)))
+            .thenReturn(Stream.of(reading(1, 10), reading(2, 20), reading(3, 30)));
+
+        storageManager.initialize();
+
+        verify(collection).renameCollection(new MongoNamespace("airaware", LEGACY));
+        verify(mongoTemplate).createCollection(eq(COLLECTION), any(CollectionOptions.class));
+        assertEquals(List.of(1, 2, 3), insertedIds());
+    }
+
+    @Test
+    void testInitialize_ResumesInterruptedMigration() {
+        when(mongoTemplate.collectionExists(COLLECTION)).thenReturn(true);
+        when(mongoTemplate.collectionExists(LEGACY)).thenReturn(true);
+        when(database.listCollections().filter(any()).first()).thenReturn(new Document("type", "timeseries"));
+        when(mongoTemplate.findOne(any(Query.class), eq(Document.class), eq(COLLECTION))).thenReturn(reading(2, 20));
+        when(mongoTemplate.find(any(Query.class), eq(Document.class), eq(COLLECTION))).thenReturn(List.of(reading(2, 20)));
+        ArgumentCaptor<Query> source = ArgumentCaptor.forClass(Query.class);
+        when(mongoTemplate.stream(source.capture(), eq(Document.class), eq(LEGACY)))
+            .thenReturn(Stream.of(reading(2, 20), reading(4, 20), reading(3, 30)));
+
+        storageManager.initialize();
+
+        verify(collection, never()).renameCollection(any(MongoNamespace.class));
+        verify(mongoTemplate, never()).createCollection(eq(COLLECTION), any(CollectionOptions.class));
+        assertTrue(source.getValue().getQueryObject().containsKey("timestamp"));
+        assertEquals(List.of(4, 3), insertedIds());
+    }
+
+    @Test
+    void testInitialize_RecreatesTargetWhenInterruptedAfterRename() {
+        when(mongoTemplate.collectionExists(COLLECTION)).thenReturn(false);
+        when(mongoTemplate.collectionExists(LEGACY)).thenReturn(true);
+        when(mongoTemplate.stream(any(Query.class), eq(Document.class), eq(LEGACY)))
+            .thenReturn(Stream.of(reading(1, 10)));
+
+        storageManager.initialize();
+
+        verify(collection, never()).renameCollection(any(MongoNamespace.class));
+        verify(mongoTemplate).createCollection(eq(COLLECTION), any(CollectionOptions.class));
+        assertEquals(List.of(1), insertedIds());
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Object> insertedIds() {
+        ArgumentCaptor<List<Document>> inserted = ArgumentCaptor.forClass(List.class);
+        verify(collection).insertMany(inserted.capture());
+        return inserted.getValue().stream().map(document -> document.get("_id")).toList();
+    }
+
+    private Document reading(int id, int minute) {
+        return new Document("_id", id).append("timestamp", new Date(minute * 60_000L));
+    }
+}
@@ -0,0 +1,37 @@
+package com.se.scheduler;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.kafka.ConcurrentKafkaListenerContainerFactoryConfigurer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.listener.ContainerProperties;
+
+@Configuration
+public class LocationConsumerConfig {
+
+    // Virtual threads by default; a fixed pool of scheduler.threadpool.size otherwise
+    @Bean(name = "geocodingExecutor", destroyMethod = "shutdown")
+    public ExecutorService geocodingExecutor(
+            @Value("${scheduler.threadpool.virtual:true}") boolean virtualThreads,
+            @Value("${scheduler.threadpool.size:10}") int poolSize) {
+        return virtualThreads ? Executors.newVirtualThreadPerTaskExecutor() : Executors.newFixedThreadPool(poolSize);
+    }
+
+    // Location messages are acknowledged manually once their geocodes finish, possibly out of order.
+    // A separate factory keeps the notification listeners on Boot's default (auto-commit) one.
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<Object, Object> locationListenerContainerFactory(
+            ConcurrentKafkaListenerContainerFactoryConfigurer configurer,
+            ConsumerFactory<Object, Object> consumerFactory) {
+        ConcurrentKafkaListenerContainerFactory<Object, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        configurer.configure(factory, consumerFactory);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+        factory.getContainerProperties().setAsyncAcks(true);
+        return factory;
+    }
+}
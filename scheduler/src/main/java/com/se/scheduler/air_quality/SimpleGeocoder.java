@@ -1,21 +1,18 @@
 package com.se.scheduler.air_quality;
 
-import java.io.BufferedReader;
-import java.io.InputStreamReader;
-import java.net.HttpURLConnection;
-import java.net.URL;
-import java.net.URLEncoder;
-import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import com.se.scheduler.model.AirQualityData;
+import com.se.scheduler.model.CoordinatesResponse;
+import com.se.scheduler.service.GeocodingService;
+
 @Component
 public class SimpleGeocoder {
 
@@ -24,7 +21,13 @@ public class SimpleGeocoder {
     // Hard-coded location
     private static final String CITY = "Mumbai";
     private static final String STATE = "Maharashtra";
-    private static final String COUNTRY = "India";
+    
+    private final GeocodingService geocodingService;
+    
+    @Autowired
+    public SimpleGeocoder(GeocodingService geocodingService) {
+        this.geocodingService = geocodingService;
+    }
 
     /**
      * Scheduled task to run every 10 minutes (600,000 milliseconds)
@@ -42,65 +45,19 @@ public class SimpleGeocoder {
             // Get current timestamp
             String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"));
             logger.info("----- Geocoding check at {} -----", timestamp);
+            logger.info("Fetching coordinates for: {}, {}", CITY, STATE);
             
-            String location = CITY + ", " + STATE + ", " + COUNTRY;
-            logger.info("Fetching coordinates for: {}", location);
-            
-            // Build the URL for OpenStreetMap Nominatim API
-            String encodedLocation = URLEncoder.encode(location, StandardCharsets.UTF_8.toString());
-            String apiUrl = "https://nominatim.openstreetmap.org/search?q=" + encodedLocation + "&format=json&limit=1";
-            
-            // Create connection
-            URL url = new URL(apiUrl);
-            HttpURLConnection connection = (HttpURLConnection) url.openConnection();
-            
-            // Set request properties
-            connection.setRequestMethod("GET");
-            connection.setRequestProperty("User-Agent", "GeocodingApp/1.0");
-            
-            // Read the response
-            int responseCode = connection.getResponseCode();
+            // Gazetteer first, Nominatim only if the name is unknown
+            CoordinatesResponse coordinates = geocodingService.resolve(new AirQualityData.Location(CITY, STATE));
             
-            if (responseCode == HttpURLConnection.HTTP_OK) {
-                BufferedReader reader = new BufferedReader(new InputStreamReader(connection.getInputStream()));
-                StringBuilder response = new StringBuilder();
-                String line;
-                
-                while ((line = reader.readLine()) != null) {
-                    response.append(line);
-                }
-                reader.close();
-                
-                // Parse response using regex
-                String jsonResponse = response.toString();
-                
-                if (jsonResponse.startsWith("[") && !jsonResponse.equals("[]")) {
-                    // Extract latitude using regex
-                    Pattern latPattern = Pattern.compile("\"lat\":\"([\\d.]+)\"");
-                    Matcher latMatcher = latPattern.matcher(jsonResponse);
-                    
-                    // Extract longitude using regex
-                    Pattern lonPattern = Pattern.compile("\"lon\":\"([\\d.]+)\"");
-                    Matcher lonMatcher = lonPattern.matcher(jsonResponse);
-                    
-                    if (latMatcher.find() && lonMatcher.find()) {
-                        String lat = latMatcher.group(1);
-                        String lon = lonMatcher.group(1);
-                        
-                        logger.info("Coordinates for {}, {}:", CITY, STATE);
-                        logger.info("Latitude: {}", lat);
-                        logger.info("Longitude: {}", lon);
-                    } else {
-                        logger.error("Could not extract coordinates from response.");
-                    }
-                } else {
-                    logger.error("No results found for: {}", location);
-                }
+            if (coordinates != null) {
+                logger.info("Coordinates for {}, {}:", CITY, STATE);
+                logger.info("Latitude: {}", coordinates.getLatitude());
+                logger.info("Longitude: {}", coordinates.getLongitude());
             } else {
-                logger.error("Error: HTTP response code {}", responseCode);
+                logger.error("No results found for: {}, {}", CITY, STATE);
             }
             
-            connection.disconnect();
             logger.info("Geocoding check completed");
             
         } catch (Exception e) {
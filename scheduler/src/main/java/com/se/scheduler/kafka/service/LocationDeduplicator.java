@@ -0,0 +1,103 @@
+package com.se.scheduler.kafka.service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.se.scheduler.util.LocationKeys;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Lets each normalized city|state through at most once per window. A location is skipped
+ * while another worker is geocoding it, and for geocoding.dedup.window-seconds after its
+ * coordinates were emitted, so overlapping publisher cycles do not produce duplicate
+ * location-coordinates records.
+ */
+@Component
+public class LocationDeduplicator {
+
+    private final Clock clock;
+    private final Counter skippedInFlight;
+    private final Counter skippedRecent;
+
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+    // Key -> epoch millis the coordinates were emitted
+    private final ConcurrentHashMap<String, Long> recentlyEmitted = new ConcurrentHashMap<>();
+
+    // Shorter than the 6-minute location publisher cycle, so each cycle's republish is still geocoded
+    @Value("${geocoding.dedup.window-seconds:300}")
+    private long windowSeconds = 300;
+
+    @Autowired
+    public LocationDeduplicator(MeterRegistry meterRegistry) {
+        this(meterRegistry, Clock.systemUTC());
+    }
+
+    public LocationDeduplicator(MeterRegistry meterRegistry, Clock clock) {
+        this.clock = clock;
+        this.skippedInFlight = skippedCounter(meterRegistry, "in_flight");
+        this.skippedRecent = skippedCounter(meterRegistry, "recent");
+    }
+
+    /**
+     * Claims the location for processing; false if it is in flight or was emitted within
+     * the window. Every successful claim must be followed by {@link #complete}.
+     */
+    public boolean tryBegin(String city, String state) {
+        String key = LocationKeys.key(city, state);
+        Long emittedAt = recentlyEmitted.get(key);
+        if (emittedAt != null) {
+            if (!isExpired(emittedAt)) {
+                skippedRecent.increment();
+                return false;
+            }
+            recentlyEmitted.remove(key, emittedAt);
+        }
+        if (!inFlight.add(key)) {
+            skippedInFlight.increment();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Releases the claim. Only emitted locations start a window; failures can be retried
+     * by the next record that names them.
+     */
+    public void complete(String city, String state, boolean emitted) {
+        String key = LocationKeys.key(city, state);
+        if (emitted) {
+            recentlyEmitted.put(key, clock.millis());
+        }
+        inFlight.remove(key);
+    }
+
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+
+    // Keeps the window map from holding every location ever seen
+    @Scheduled(fixedDelayString = "${geocoding.dedup.evict-interval-ms:60000}")
+    public void evictExpired() {
+        recentlyEmitted.values().removeIf(this::isExpired);
+    }
+
+    private boolean isExpired(long emittedAt) {
+        return clock.millis() - emittedAt >= Duration.ofSeconds(windowSeconds).toMillis();
+    }
+
+    private static Counter skippedCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("geocoding.dedup.skipped")
+            .description("Locations not geocoded because they were already in flight or recently emitted")
+            .tag("reason", reason)
+            .register(meterRegistry);
+    }
+}
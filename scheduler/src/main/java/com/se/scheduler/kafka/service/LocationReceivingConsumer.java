@@ -1,14 +1,24 @@
 package com.se.scheduler.kafka.service;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.kafka.support.Acknowledgment;
 import org.springframework.stereotype.Service;
 
 import com.se.scheduler.model.AirQualityData;
@@ -19,41 +29,177 @@ public class LocationReceivingConsumer {
 
     private static final Logger logger = LoggerFactory.getLogger(LocationReceivingConsumer.class);
     
+    public static final String LISTENER_ID = "location-geocoding";
+    
     private final GeocodingService geocodingService;
+    private final ExecutorService executorService;
+    private final KafkaListenerEndpointRegistry listenerRegistry;
+    private final LocationDeduplicator deduplicator;
     
-    // Thread pool for parallel processing of locations
-    private final ExecutorService executorService = Executors.newFixedThreadPool(10);
+    // Bounds the geocodes running at once; locations beyond it wait in the backlog while the container is paused
+    private final int maxInFlight;
+    private final Semaphore inFlight;
+    private final int resumeThreshold;
+    private final Queue<PendingLocation> backlog = new ArrayDeque<>();
+    private volatile boolean paused;
     
     @Autowired
-    public LocationReceivingConsumer(GeocodingService geocodingService) {
+    public LocationReceivingConsumer(GeocodingService geocodingService,
+                                     @Qualifier("geocodingExecutor") ExecutorService executorService,
+                                     KafkaListenerEndpointRegistry listenerRegistry,
+                                     LocationDeduplicator deduplicator,
+                                     @Value("${scheduler.geocoding.max-in-flight:100}") int maxInFlight) {
         this.geocodingService = geocodingService;
+        this.executorService = executorService;
+        this.listenerRegistry = listenerRegistry;
+        this.deduplicator = deduplicator;
+        this.maxInFlight = maxInFlight;
+        this.inFlight = new Semaphore(maxInFlight);
+        this.resumeThreshold = Math.max(1, maxInFlight / 2);
     }
     
     /**
-     * Receives list of locations from Kafka and processes them
+     * Receives locations from Kafka and processes them. Accepts both the legacy
+     * list message and the per-location records keyed by city|state. The listener
+     * never blocks: when every slot is taken the container is paused and the
+     * remaining locations wait in the backlog, which finishing geocodes drain.
+     * The record is acknowledged once every location in it has been processed,
+     * whether or not geocoding succeeded; failed locations are retried when the
+     * next publish cycle sends them again rather than by redelivering the record.
      */
-    @KafkaListener(topics = "${kafka.topic.locations}")
-    public void receiveLocationsForGeocoding(List<Map<String, String>> locationMaps) {
+    @KafkaListener(id = LISTENER_ID, idIsGroup = false, topics = "${kafka.topic.locations}",
+            containerFactory = "locationListenerContainerFactory")
+    public void receiveLocationsForGeocoding(Object payload, Acknowledgment acknowledgment) {
+        List<Map<String, String>> locationMaps;
         try {
-            logger.info("Received {} locations for geocoding", locationMaps.size());
-            
-            // Process each location map asynchronously
-            for (Map<String, String> locationMap : locationMaps) {
-                executorService.submit(() -> {
-                    // Create a Location object from the map
-                    String city = locationMap.get("city");
-                    String state = locationMap.get("state");
-                    
-                    if (city != null && state != null) {
-                        AirQualityData.Location location = new AirQualityData.Location(city, state);
-                        geocodingService.processLocation(location);
-                    } else {
-                        logger.warn("Received location map with missing city or state: {}", locationMap);
-                    }
-                });
-            }
+            locationMaps = toLocationMaps(payload);
         } catch (Exception e) {
+            // Nothing to retry for a payload we cannot read
             logger.error("Error processing locations message: {}", e.getMessage(), e);
+            acknowledgment.acknowledge();
+            return;
+        }
+        logger.info("Received {} locations for geocoding", locationMaps.size());
+        
+        // Process each location map asynchronously
+        List<CompletableFuture<Void>> tasks = new ArrayList<>(locationMaps.size());
+        for (Map<String, String> locationMap : locationMaps) {
+            String city = locationMap.get("city");
+            String state = locationMap.get("state");
+            if (city != null && state != null && !deduplicator.tryBegin(city, state)) {
+                logger.debug("Skipping {}, {}: already in flight or recently geocoded", city, state);
+                continue;
+            }
+            PendingLocation pending = new PendingLocation(locationMap, new CompletableFuture<>());
+            synchronized (backlog) {
+                backlog.add(pending);
+            }
+            tasks.add(pending.done());
+        }
+        dispatch();
+        
+        CompletableFuture.allOf(tasks.toArray(CompletableFuture[]::new))
+                .whenComplete((ignored, error) -> acknowledgment.acknowledge());
+    }
+    
+    private void process(Map<String, String> locationMap) {
+        // Create a Location object from the map
+        String city = locationMap.get("city");
+        String state = locationMap.get("state");
+        
+        if (city != null && state != null) {
+            AirQualityData.Location location = new AirQualityData.Location(city, state);
+            boolean emitted = false;
+            try {
+                emitted = geocodingService.processLocation(location);
+            } finally {
+                deduplicator.complete(city, state, emitted);
+            }
+        } else {
+            logger.warn("Received location map with missing city or state: {}", locationMap);
+        }
+    }
+    
+    /**
+     * Starts backlog entries while slots are free. Pauses the container when locations
+     * are left waiting and resumes it once the backlog is empty and enough slots are free.
+     */
+    private void dispatch() {
+        while (true) {
+            PendingLocation next;
+            synchronized (backlog) {
+                if (backlog.isEmpty() || !inFlight.tryAcquire()) {
+                    break;
+                }
+                next = backlog.poll();
+            }
+            start(next);
+        }
+        boolean waiting;
+        synchronized (backlog) {
+            waiting = !backlog.isEmpty();
+        }
+        if (waiting) {
+            setPaused(true);
+        } else if (paused && inFlight.availablePermits() >= resumeThreshold) {
+            setPaused(false);
+        }
+    }
+    
+    private void start(PendingLocation pending) {
+        try {
+            CompletableFuture.runAsync(() -> process(pending.locationMap()), executorService)
+                    .whenComplete((ignored, error) -> {
+                        inFlight.release();
+                        pending.done().complete(null);
+                        dispatch();
+                    });
+        } catch (RejectedExecutionException e) {
+            // Shutting down; let the record be acknowledged rather than hang
+            logger.warn("Geocoding executor rejected {}: {}", pending.locationMap(), e.getMessage());
+            String city = pending.locationMap().get("city");
+            String state = pending.locationMap().get("state");
+            if (city != null && state != null) {
+                deduplicator.complete(city, state, false);
+            }
+            inFlight.release();
+            pending.done().complete(null);
+        }
+    }
+    
+    private synchronized void setPaused(boolean pause) {
+        if (paused == pause) {
+            return;
+        }
+        MessageListenerContainer container = listenerRegistry.getListenerContainer(LISTENER_ID);
+        if (container == null) {
+            return;
+        }
+        if (pause) {
+            container.pause();
+            logger.info("Paused location consumption: {} geocodes in flight", inFlightCount());
+        } else {
+            container.resume();
+            logger.info("Resumed location consumption");
+        }
+        paused = pause;
+    }
+    
+    public int inFlightCount() {
+        return maxInFlight - inFlight.availablePermits();
+    }
+    
+    private record PendingLocation(Map<String, String> locationMap, CompletableFuture<Void> done) {
+    }
+    
+    @SuppressWarnings("unchecked")
+    private List<Map<String, String>> toLocationMaps(Object payload) {
+        if (payload instanceof List<?> list) {
+            return (List<Map<String, String>>) list;
+        }
+        if (payload instanceof Map<?, ?> map) {
+            return List.of((Map<String, String>) map);
         }
+        throw new IllegalArgumentException("Unsupported locations payload: " + payload);
     }
-}
\ No newline at end of file
+}
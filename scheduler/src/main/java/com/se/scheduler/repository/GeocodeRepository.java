@@ -0,0 +1,12 @@
+package com.se.scheduler.repository;
+
+import java.util.Optional;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import com.se.scheduler.model.GeocodeEntry;
+
+public interface GeocodeRepository extends MongoRepository<GeocodeEntry, String> {
+
+    Optional<GeocodeEntry> findByKey(String key);
+}
@@ -0,0 +1,151 @@
+package com.se.scheduler.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+
+import com.se.scheduler.model.CoordinatesResponse;
+import com.se.scheduler.util.LocationKeys;
+import com.se.scheduler.util.NameTrie;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Offline geocoder over the bundled gazetteer of Indian cities. Exact names resolve with
+ * one hash lookup on the normalized city|state key; misspellings can be matched separately
+ * with a bounded edit-distance walk of a city-name trie, restricted to the requested state.
+ */
+@Service
+public class GazetteerGeocoder implements Geocoder {
+
+    private static final Logger logger = LoggerFactory.getLogger(GazetteerGeocoder.class);
+    
+    @Value("${geocoding.offline.gazetteer:classpath:gazetteer/india-cities.csv}")
+    private Resource gazetteer;
+    
+    @Value("${geocoding.offline.max-edits:2}")
+    private int maxEdits = 2;
+    
+    private final List<CoordinatesResponse> entries = new ArrayList<>();
+    private final List<String> stateKeys = new ArrayList<>();
+    private final Map<String, Integer> byKey = new HashMap<>();
+    private final NameTrie cities = new NameTrie();
+    
+    @PostConstruct
+    public void load() throws IOException {
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(gazetteer.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] columns = line.split(",");
+                if (columns.length != 4) {
+                    logger.warn("Skipping malformed gazetteer line: {}", line);
+                    continue;
+                }
+                add(columns[0].trim(), columns[1].trim(),
+                        Double.parseDouble(columns[2].trim()), Double.parseDouble(columns[3].trim()));
+            }
+        }
+        logger.info("Loaded {} gazetteer entries from {}", entries.size(), gazetteer.getDescription());
+    }
+    
+    private void add(String city, String state, double latitude, double longitude) {
+        String cityKey = LocationKeys.normalize(city);
+        String stateKey = LocationKeys.normalize(state);
+        int index = entries.size();
+        entries.add(new CoordinatesResponse(city, state, latitude, longitude));
+        stateKeys.add(stateKey);
+        byKey.put(cityKey + "|" + stateKey, index);
+        cities.insert(cityKey, index);
+    }
+    
+    @Override
+    public CoordinatesResponse geocode(String city, String state) {
+        String cityKey = LocationKeys.normalize(city);
+        String stateKey = LocationKeys.normalize(state);
+        if (cityKey.isEmpty()) {
+            return null;
+        }
+        
+        Integer exact = byKey.get(cityKey + "|" + stateKey);
+        return exact != null ? as(entries.get(exact), city, state) : null;
+    }
+    
+    @Override
+    public CoordinatesResponse geocodeApproximate(String city, String state) {
+        String cityKey = LocationKeys.normalize(city);
+        String stateKey = LocationKeys.normalize(state);
+        if (cityKey.isEmpty()) {
+            return null;
+        }
+        
+        // Best fuzzy candidate in a matching state; ties between different places are ambiguous
+        int allowedEdits = Math.min(maxEdits, cityKey.length() / 4);
+        CoordinatesResponse best = null;
+        int bestDistance = Integer.MAX_VALUE;
+        boolean ambiguous = false;
+        for (NameTrie.Match match : cities.fuzzy(cityKey, allowedEdits)) {
+            if (!stateMatches(stateKeys.get(match.value()), stateKey)) {
+                continue;
+            }
+            CoordinatesResponse candidate = entries.get(match.value());
+            if (match.distance() < bestDistance) {
+                best = candidate;
+                bestDistance = match.distance();
+                ambiguous = false;
+            } else if (match.distance() == bestDistance && !samePlace(best, candidate)) {
+                ambiguous = true;
+            }
+        }
+        if (best == null || ambiguous) {
+            return null;
+        }
+        logger.debug("Gazetteer matched {}, {} to {}, {}", city, state, best.getCity(), best.getState());
+        return as(best, city, state);
+    }
+    
+    /**
+     * Gazetteer places whose city name starts with the prefix
+     */
+    public List<CoordinatesResponse> complete(String prefix, int limit) {
+        List<CoordinatesResponse> result = new ArrayList<>();
+        for (int index : cities.withPrefix(LocationKeys.normalize(prefix), limit)) {
+            result.add(entries.get(index));
+        }
+        return result;
+    }
+    
+    public int size() {
+        return entries.size();
+    }
+    
+    private boolean stateMatches(String entryState, String requestedState) {
+        if (requestedState.isEmpty() || entryState.equals(requestedState)) {
+            return true;
+        }
+        return NameTrie.editDistance(entryState, requestedState) <= Math.min(maxEdits, requestedState.length() / 4);
+    }
+    
+    private static boolean samePlace(CoordinatesResponse a, CoordinatesResponse b) {
+        return a.getLatitude() == b.getLatitude() && a.getLongitude() == b.getLongitude();
+    }
+    
+    // Keep the caller's spelling so downstream consumers match on the names they sent
+    private static CoordinatesResponse as(CoordinatesResponse entry, String city, String state) {
+        return new CoordinatesResponse(city, state, entry.getLatitude(), entry.getLongitude());
+    }
+}
@@ -0,0 +1,103 @@
+package com.se.scheduler.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.stereotype.Component;
+
+import com.se.scheduler.model.GeocodeEntry;
+import com.se.scheduler.repository.GeocodeRepository;
+import com.se.scheduler.util.LocationKeys;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Two-tier cache of geocoded locations: an in-memory map in front of the Mongo
+ * "geocodes" collection. City/state coordinates do not move, so entries are only
+ * refreshed from Nominatim once they are older than the TTL.
+ */
+@Component
+public class GeocodeCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(GeocodeCache.class);
+
+    private final GeocodeRepository geocodeRepository;
+    private final MongoTemplate mongoTemplate;
+    private final ConcurrentHashMap<String, GeocodeEntry> entries = new ConcurrentHashMap<>();
+
+    @Value("${geocoding.cache.ttl-days:90}")
+    private long ttlDays = 90;
+
+    @Autowired
+    public GeocodeCache(GeocodeRepository geocodeRepository, MongoTemplate mongoTemplate) {
+        this.geocodeRepository = geocodeRepository;
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    // Ensures the unique key index and loads every stored geocode into memory
+    @PostConstruct
+    public void warmUp() {
+        mongoTemplate.indexOps(GeocodeEntry.class).ensureIndex(new Index()
+            .on("key", Sort.Direction.ASC)
+            .unique()
+            .named("city_state_key_idx"));
+        for (GeocodeEntry entry : geocodeRepository.findAll()) {
+            entries.put(entry.getKey(), entry);
+        }
+        logger.info("Loaded {} cached geocodes", entries.size());
+    }
+
+    /**
+     * Cached entry for the location from memory or Mongo, fresh or not; null if unknown
+     */
+    public GeocodeEntry get(String city, String state) {
+        String key = LocationKeys.key(city, state);
+        GeocodeEntry entry = entries.get(key);
+        if (entry != null) {
+            return entry;
+        }
+        entry = geocodeRepository.findByKey(key).orElse(null);
+        if (entry != null) {
+            entries.put(key, entry);
+        }
+        return entry;
+    }
+
+    public boolean isFresh(GeocodeEntry entry) {
+        return entry.getResolvedAt() != null
+            && entry.getResolvedAt().isAfter(LocalDateTime.now().minus(Duration.ofDays(ttlDays)));
+    }
+
+    public GeocodeEntry put(String city, String state, double latitude, double longitude) {
+        String key = LocationKeys.key(city, state);
+        GeocodeEntry entry = get(city, state);
+        if (entry == null) {
+            entry = new GeocodeEntry(key, city, state, latitude, longitude);
+        } else {
+            entry.setLatitude(latitude);
+            entry.setLongitude(longitude);
+            entry.setResolvedAt(LocalDateTime.now());
+        }
+        try {
+            entry = geocodeRepository.save(entry);
+        } catch (DuplicateKeyException e) {
+            // Another instance stored the same location first; keep theirs
+            entry = geocodeRepository.findByKey(key).orElse(entry);
+        }
+        entries.put(key, entry);
+        return entry;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+}
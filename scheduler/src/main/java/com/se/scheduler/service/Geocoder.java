@@ -0,0 +1,22 @@
+package com.se.scheduler.service;
+
+import com.se.scheduler.model.CoordinatesResponse;
+
+/**
+ * Resolves a city/state pair to coordinates
+ */
+public interface Geocoder {
+
+    /**
+     * Coordinates for the location, or null when the geocoder does not know it
+     */
+    CoordinatesResponse geocode(String city, String state);
+    
+    /**
+     * Closest known location to a misspelled name, or null when none is close enough.
+     * Guesses can be wrong, so callers try every exact source before this one.
+     */
+    default CoordinatesResponse geocodeApproximate(String city, String state) {
+        return null;
+    }
+}
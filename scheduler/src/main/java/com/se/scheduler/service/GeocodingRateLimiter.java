@@ -0,0 +1,130 @@
+package com.se.scheduler.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Token bucket shared by every remote geocoding call. Tokens refill continuously at
+ * geocoding.rate-limit.requests-per-second up to the burst size. When the bucket is
+ * empty, callers get a future that a timer completes in FIFO order as tokens come back;
+ * nothing sleeps or spins, and no request is dropped.
+ */
+@Component
+public class GeocodingRateLimiter {
+
+    @Value("${geocoding.rate-limit.requests-per-second:100}")
+    private double requestsPerSecond = 100;
+
+    @Value("${geocoding.rate-limit.burst:10}")
+    private int burst = 10;
+
+    private final Timer waitTimer;
+    private final ScheduledExecutorService refillTimer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "geocoding-rate-limiter");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Deque<Waiter> waiting = new ArrayDeque<>();
+    private double tokens;
+    private long lastRefillNanos;
+    private boolean started;
+    private boolean drainScheduled;
+
+    private record Waiter(CompletableFuture<Void> future, long enqueuedNanos) {
+    }
+
+    @Autowired
+    public GeocodingRateLimiter(MeterRegistry meterRegistry) {
+        this.waitTimer = Timer.builder("geocoding.rate_limit.wait")
+            .description("Time remote geocoding calls waited for a rate-limit token")
+            .register(meterRegistry);
+        Gauge.builder("geocoding.rate_limit.queued", this, GeocodingRateLimiter::queued)
+            .description("Remote geocoding calls waiting for a rate-limit token")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Future that completes once a token has been taken for the caller
+     */
+    public CompletableFuture<Void> acquire() {
+        synchronized (this) {
+            refill(System.nanoTime());
+            if (waiting.isEmpty() && tokens >= 1) {
+                tokens -= 1;
+                waitTimer.record(0, TimeUnit.NANOSECONDS);
+                return CompletableFuture.completedFuture(null);
+            }
+            Waiter waiter = new Waiter(new CompletableFuture<>(), System.nanoTime());
+            waiting.addLast(waiter);
+            scheduleDrain();
+            return waiter.future();
+        }
+    }
+
+    public synchronized int queued() {
+        return waiting.size();
+    }
+
+    private void drain() {
+        List<Waiter> ready = new ArrayList<>();
+        long now = System.nanoTime();
+        synchronized (this) {
+            drainScheduled = false;
+            refill(now);
+            while (tokens >= 1 && !waiting.isEmpty()) {
+                tokens -= 1;
+                ready.add(waiting.pollFirst());
+            }
+            if (!waiting.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+        // Complete outside the lock; callers may chain work onto the future
+        for (Waiter waiter : ready) {
+            waitTimer.record(now - waiter.enqueuedNanos(), TimeUnit.NANOSECONDS);
+            waiter.future().complete(null);
+        }
+    }
+
+    // Caller holds the lock
+    private void scheduleDrain() {
+        if (drainScheduled) {
+            return;
+        }
+        drainScheduled = true;
+        long delayNanos = (long) Math.ceil((1 - tokens) / requestsPerSecond * 1_000_000_000L);
+        refillTimer.schedule(this::drain, Math.max(delayNanos, 0), TimeUnit.NANOSECONDS);
+    }
+
+    // Caller holds the lock; the bucket starts full
+    private void refill(long now) {
+        if (!started) {
+            tokens = burst;
+            started = true;
+        } else {
+            tokens = Math.min(burst, tokens + (now - lastRefillNanos) * requestsPerSecond / 1_000_000_000L);
+        }
+        lastRefillNanos = now;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refillTimer.shutdownNow();
+    }
+}
@@ -1,105 +1,126 @@
 package com.se.scheduler.service;
 
-import java.net.URLEncoder;
-import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpMethod;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
-import org.springframework.web.util.UriComponentsBuilder;
 
 import com.se.scheduler.kafka.service.CoordinatesSendingProducer;
 import com.se.scheduler.model.AirQualityData;
+import com.se.scheduler.model.CoordinatesResponse;
+import com.se.scheduler.model.GeocodeEntry;
 
 @Service
 public class GeocodingService {
 
     private static final Logger logger = LoggerFactory.getLogger(GeocodingService.class);
     
-    private static final String NOMINATIM_API_URL = "https://nominatim.openstreetmap.org/search";
+    @Value("${geocoding.offline.enabled:true}")
+    private boolean offlineEnabled = true;
     
-    private final RestTemplate restTemplate;
     private final CoordinatesSendingProducer coordinatesSendingProducer;
+    private final GeocodeCache geocodeCache;
+    private final Geocoder offlineGeocoder;
+    private final Geocoder remoteGeocoder;
+    private final GeocodingRateLimiter rateLimiter;
     
     @Autowired
-    public GeocodingService(RestTemplate restTemplate, CoordinatesSendingProducer coordinatesSendingProducer) {
-        this.restTemplate = restTemplate;
+    public GeocodingService(CoordinatesSendingProducer coordinatesSendingProducer, GeocodeCache geocodeCache,
+                            @Qualifier("gazetteerGeocoder") Geocoder offlineGeocoder,
+                            @Qualifier("nominatimGeocoder") Geocoder remoteGeocoder,
+                            GeocodingRateLimiter rateLimiter) {
         this.coordinatesSendingProducer = coordinatesSendingProducer;
+        this.geocodeCache = geocodeCache;
+        this.offlineGeocoder = offlineGeocoder;
+        this.remoteGeocoder = remoteGeocoder;
+        this.rateLimiter = rateLimiter;
     }
     
     /**
-     * Process a location - geocode and send back results
+     * Process a location - geocode and send back results. Returns whether coordinates were sent.
      */
-    public void processLocation(AirQualityData.Location location) {
+    public boolean processLocation(AirQualityData.Location location) {
         try {
             logger.info("Processing location: {}, {}", location.getCity(), location.getState());
             
-            // Geocode the location
-            String locationString = location.getCity() + ", " + location.getState();
-            String encodedLocation = URLEncoder.encode(locationString, StandardCharsets.UTF_8.toString());
-            
-            // Build the request URL
-            String url = UriComponentsBuilder.fromHttpUrl(NOMINATIM_API_URL)
-                    .queryParam("q", encodedLocation)
-                    .queryParam("format", "json")
-                    .queryParam("limit", 1)
-                    .toUriString();
-            
-            // Set headers
-            HttpHeaders headers = new HttpHeaders();
-            headers.set("User-Agent", "AirQualityScheduler/1.0");
-            HttpEntity<?> entity = new HttpEntity<>(headers);
+            CoordinatesResponse coordinates = resolve(location);
+            if (coordinates == null) {
+                return false;
+            }
             
-            // Call the API
-            String jsonResponse = restTemplate.exchange(
-                    url, HttpMethod.GET, entity, String.class).getBody();
+            // Create a map with coordinates data
+            Map<String, Object> coordinatesMap = new HashMap<>();
+            coordinatesMap.put("city", location.getCity());
+            coordinatesMap.put("state", location.getState());
+            coordinatesMap.put("latitude", coordinates.getLatitude());
+            coordinatesMap.put("longitude", coordinates.getLongitude());
             
-            // Parse response using regex
-            if (jsonResponse != null && !jsonResponse.equals("[]")) {
-                // Extract latitude using regex
-                Pattern latPattern = Pattern.compile("\"lat\":\"([\\d.]+)\"");
-                Matcher latMatcher = latPattern.matcher(jsonResponse);
-                
-                // Extract longitude using regex
-                Pattern lonPattern = Pattern.compile("\"lon\":\"([\\d.]+)\"");
-                Matcher lonMatcher = lonPattern.matcher(jsonResponse);
-                
-                if (latMatcher.find() && lonMatcher.find()) {
-                    // FIX: Use correct matcher for longitude value
-                    double lat = Double.parseDouble(latMatcher.group(1));
-                    double lon = Double.parseDouble(lonMatcher.group(1)); // BUG: Should use lonMatcher
-                    
-                    // Create a map with coordinates data
-                    Map<String, Object> coordinatesMap = new HashMap<>();
-                    coordinatesMap.put("city", location.getCity());
-                    coordinatesMap.put("state", location.getState());
-                    coordinatesMap.put("latitude", lat);
-                    coordinatesMap.put("longitude", lon);
-                    
-                    // Send coordinates back to Kafka using the map
-                    coordinatesSendingProducer.sendCoordinates(coordinatesMap);
-                    logger.info("Sent coordinates for {}, {} to Kafka: lat={}, lon={}", 
-                            location.getCity(), location.getState(), lat, lon);
-                } else {
-                    logger.warn("Could not extract coordinates from response for {}, {}", 
-                            location.getCity(), location.getState());
-                }
-            } else {
-                logger.warn("No geocoding results found for {}, {}", 
-                        location.getCity(), location.getState());
-            }
+            // Send coordinates back to Kafka using the map
+            coordinatesSendingProducer.sendCoordinates(coordinatesMap);
+            logger.info("Sent coordinates for {}, {} to Kafka: lat={}, lon={}", 
+                    location.getCity(), location.getState(), coordinates.getLatitude(), coordinates.getLongitude());
+            return true;
         } catch (Exception e) {
             logger.error("Error geocoding location {}, {}: {}", 
                     location.getCity(), location.getState(), e.getMessage(), e);
+            return false;
+        }
+    }
+    
+    /**
+     * Coordinates from an exact gazetteer match, then the geocode cache, calling the remote
+     * geocoder only when the location is unknown to both or its cached entry is past the
+     * TTL. A stale entry is still used if the refresh fails. A fuzzy gazetteer match is the
+     * last resort, so a real place with a near-miss name is not snapped to its neighbour.
+     */
+    public CoordinatesResponse resolve(AirQualityData.Location location) {
+        if (offlineEnabled) {
+            CoordinatesResponse offline = offlineGeocoder.geocode(location.getCity(), location.getState());
+            if (offline != null) {
+                return offline;
+            }
+        }
+        
+        GeocodeEntry cached = geocodeCache.get(location.getCity(), location.getState());
+        if (cached != null && geocodeCache.isFresh(cached)) {
+            return new CoordinatesResponse(location.getCity(), location.getState(),
+                    cached.getLatitude(), cached.getLongitude());
+        }
+        
+        CoordinatesResponse remote = null;
+        RuntimeException remoteFailure = null;
+        try {
+            // Waits its turn for a token; the worker resumes once the limiter releases it
+            rateLimiter.acquire().join();
+            remote = remoteGeocoder.geocode(location.getCity(), location.getState());
+        } catch (RuntimeException e) {
+            remoteFailure = e;
+            logger.warn("Remote geocoding of {}, {} failed: {}",
+                    location.getCity(), location.getState(), e.getMessage());
+        }
+        
+        if (remote != null) {
+            geocodeCache.put(location.getCity(), location.getState(), remote.getLatitude(), remote.getLongitude());
+            return remote;
+        }
+        if (cached != null) {
+            return new CoordinatesResponse(location.getCity(), location.getState(),
+                    cached.getLatitude(), cached.getLongitude());
+        }
+        if (offlineEnabled) {
+            CoordinatesResponse approximate = offlineGeocoder.geocodeApproximate(location.getCity(), location.getState());
+            if (approximate != null) {
+                return approximate;
+            }
+        }
+        if (remoteFailure != null) {
+            throw remoteFailure;
         }
+        return null;
     }
-}
\ No newline at end of file
+}
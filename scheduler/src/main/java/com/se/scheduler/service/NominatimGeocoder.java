@@ -0,0 +1,79 @@
+package com.se.scheduler.service;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import com.se.scheduler.model.CoordinatesResponse;
+
+/**
+ * Remote geocoder backed by the public OpenStreetMap Nominatim search API
+ */
+@Service
+public class NominatimGeocoder implements Geocoder {
+
+    private static final Logger logger = LoggerFactory.getLogger(NominatimGeocoder.class);
+    
+    private static final String NOMINATIM_API_URL = "https://nominatim.openstreetmap.org/search";
+    
+    private static final Pattern LAT_PATTERN = Pattern.compile("\"lat\":\"([\\d.]+)\"");
+    private static final Pattern LON_PATTERN = Pattern.compile("\"lon\":\"([\\d.]+)\"");
+    
+    private final RestTemplate restTemplate;
+    
+    @Autowired
+    public NominatimGeocoder(RestTemplate restTemplate) {
+        this.restTemplate = restTemplate;
+    }
+    
+    @Override
+    public CoordinatesResponse geocode(String city, String state) {
+        // Geocode the location
+        String locationString = city + ", " + state;
+        String encodedLocation = URLEncoder.encode(locationString, StandardCharsets.UTF_8);
+        
+        // Build the request URL
+        String url = UriComponentsBuilder.fromUriString(NOMINATIM_API_URL)
+                .queryParam("q", encodedLocation)
+                .queryParam("format", "json")
+                .queryParam("limit", 1)
+                .toUriString();
+        
+        // Set headers
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("User-Agent", "AirQualityScheduler/1.0");
+        HttpEntity<?> entity = new HttpEntity<>(headers);
+        
+        // Call the API
+        String jsonResponse = restTemplate.exchange(
+                url, HttpMethod.GET, entity, String.class).getBody();
+        
+        // Parse response using regex
+        if (jsonResponse == null || jsonResponse.equals("[]")) {
+            logger.warn("No geocoding results found for {}, {}", city, state);
+            return null;
+        }
+        
+        Matcher latMatcher = LAT_PATTERN.matcher(jsonResponse);
+        Matcher lonMatcher = LON_PATTERN.matcher(jsonResponse);
+        if (!latMatcher.find() || !lonMatcher.find()) {
+            logger.warn("Could not extract coordinates from response for {}, {}", city, state);
+            return null;
+        }
+        
+        double lat = Double.parseDouble(latMatcher.group(1));
+        double lon = Double.parseDouble(lonMatcher.group(1));
+        return new CoordinatesResponse(city, state, lat, lon);
+    }
+}
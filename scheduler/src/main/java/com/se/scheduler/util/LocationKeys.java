@@ -0,0 +1,30 @@
+package com.se.scheduler.util;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Normalized city/state keys, so "Mumbai, Maharashtra" and " mumbai ,MAHARASHTRA" (or
+ * spellings that only differ in accents) map to the same entry
+ */
+public final class LocationKeys {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^\\p{Alnum}]+");
+
+    private LocationKeys() {
+    }
+
+    public static String normalize(String name) {
+        if (name == null) {
+            return "";
+        }
+        String stripped = DIACRITICS.matcher(Normalizer.normalize(name, Normalizer.Form.NFD)).replaceAll("");
+        return NON_ALPHANUMERIC.matcher(stripped.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    public static String key(String city, String state) {
+        return normalize(city) + "|" + normalize(state);
+    }
+}
@@ -0,0 +1,180 @@
+package com.se.scheduler.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Character trie over normalized place names. Each name maps to one or more int values
+ * (indexes into the caller's own entry array), so the same city name in two states is
+ * stored once. Supports exact, prefix and bounded edit-distance lookups.
+ */
+public final class NameTrie {
+
+    private static final int[] NO_VALUES = new int[0];
+
+    /**
+     * A value reached by a fuzzy lookup and the edit distance of its name from the query
+     */
+    public record Match(int value, int distance) {
+    }
+
+    private static final class Node {
+        private char[] labels = new char[0];
+        private Node[] children = new Node[0];
+        private int[] values = NO_VALUES;
+
+        private Node child(char c) {
+            for (int i = 0; i < labels.length; i++) {
+                if (labels[i] == c) {
+                    return children[i];
+                }
+            }
+            return null;
+        }
+
+        private Node addChild(char c) {
+            Node existing = child(c);
+            if (existing != null) {
+                return existing;
+            }
+            Node node = new Node();
+            labels = Arrays.copyOf(labels, labels.length + 1);
+            children = Arrays.copyOf(children, children.length + 1);
+            labels[labels.length - 1] = c;
+            children[children.length - 1] = node;
+            return node;
+        }
+    }
+
+    private final Node root = new Node();
+    private int size;
+
+    public void insert(String name, int value) {
+        Node node = root;
+        for (int i = 0; i < name.length(); i++) {
+            node = node.addChild(name.charAt(i));
+        }
+        node.values = Arrays.copyOf(node.values, node.values.length + 1);
+        node.values[node.values.length - 1] = value;
+        size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Values stored under exactly this name, or an empty array
+     */
+    public int[] exact(String name) {
+        Node node = find(name);
+        return node == null ? NO_VALUES : node.values;
+    }
+
+    /**
+     * Up to {@code limit} values whose name starts with the prefix, in depth-first order
+     */
+    public List<Integer> withPrefix(String prefix, int limit) {
+        List<Integer> result = new ArrayList<>();
+        Node node = find(prefix);
+        if (node != null) {
+            collect(node, result, limit);
+        }
+        return result;
+    }
+
+    /**
+     * Values whose name is within {@code maxEdits} insertions, deletions or substitutions
+     * of the query. Walks the trie one Levenshtein row per node and prunes any branch
+     * whose best cell already exceeds the bound.
+     */
+    public List<Match> fuzzy(String query, int maxEdits) {
+        List<Match> matches = new ArrayList<>();
+        int[] firstRow = new int[query.length() + 1];
+        for (int i = 0; i < firstRow.length; i++) {
+            firstRow[i] = i;
+        }
+        if (firstRow[query.length()] <= maxEdits) {
+            addMatches(root, firstRow[query.length()], matches);
+        }
+        for (int i = 0; i < root.labels.length; i++) {
+            fuzzy(root.children[i], root.labels[i], query, firstRow, maxEdits, matches);
+        }
+        return matches;
+    }
+
+    private void fuzzy(Node node, char c, String query, int[] previous, int maxEdits, List<Match> matches) {
+        int columns = query.length() + 1;
+        int[] row = new int[columns];
+        row[0] = previous[0] + 1;
+        int best = row[0];
+        for (int i = 1; i < columns; i++) {
+            int insert = row[i - 1] + 1;
+            int delete = previous[i] + 1;
+            int replace = previous[i - 1] + (query.charAt(i - 1) == c ? 0 : 1);
+            row[i] = Math.min(Math.min(insert, delete), replace);
+            best = Math.min(best, row[i]);
+        }
+
+        if (row[columns - 1] <= maxEdits) {
+            addMatches(node, row[columns - 1], matches);
+        }
+        if (best <= maxEdits) {
+            for (int i = 0; i < node.labels.length; i++) {
+                fuzzy(node.children[i], node.labels[i], query, row, maxEdits, matches);
+            }
+        }
+    }
+
+    /**
+     * Plain Levenshtein distance, for comparing short strings outside the trie (e.g. states)
+     */
+    public static int editDistance(String a, String b) {
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()];
+    }
+
+    private Node find(String name) {
+        Node node = root;
+        for (int i = 0; i < name.length() && node != null; i++) {
+            node = node.child(name.charAt(i));
+        }
+        return node;
+    }
+
+    private static void addMatches(Node node, int distance, List<Match> matches) {
+        for (int value : node.values) {
+            matches.add(new Match(value, distance));
+        }
+    }
+
+    private static void collect(Node node, List<Integer> result, int limit) {
+        for (int value : node.values) {
+            if (result.size() >= limit) {
+                return;
+            }
+            result.add(value);
+        }
+        for (Node child : node.children) {
+            if (result.size() >= limit) {
+                return;
+            }
+            collect(child, result, limit);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.se.scheduler.kafka.service.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.se.scheduler.kafka.service.LocationDeduplicator;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class LocationDeduplicatorTest {
+
+    private Clock clock;
+    private SimpleMeterRegistry meterRegistry;
+    private LocationDeduplicator deduplicator;
+
+    @BeforeEach
+    void setUp() {
+        clock = mock(Clock.class);
+        when(clock.millis()).thenReturn(0L);
+        meterRegistry = new SimpleMeterRegistry();
+        deduplicator = new LocationDeduplicator(meterRegistry, clock);
+    }
+
+    @Test
+    void testSecondClaimWhileInFlightIsRejected() {
+        assertTrue(deduplicator.tryBegin("Pune", "Maharashtra"));
+        assertFalse(deduplicator.tryBegin("PUNE", " maharashtra"));
+        assertEquals(1.0, meterRegistry.get("geocoding.dedup.skipped").tag("reason", "in_flight").counter().count());
+    }
+
+    @Test
+    void testEmittedLocationIsSkippedUntilWindowEnds() {
+        assertTrue(deduplicator.tryBegin("Pune", "Maharashtra"));
+        deduplicator.complete("Pune", "Maharashtra", true);
+
+        // An overlapping copy within the window is a duplicate
+        when(clock.millis()).thenReturn(299_000L);
+        assertFalse(deduplicator.tryBegin("Pune", "Maharashtra"));
+
+        // The default window ends before the 6-minute publisher cycle, so the next cycle's copy is processed
+        when(clock.millis()).thenReturn(360_000L);
+        assertTrue(deduplicator.tryBegin("Pune", "Maharashtra"));
+    }
+
+    @Test
+    void testFailedLocationCanBeRetriedImmediately() {
+        assertTrue(deduplicator.tryBegin("Pune", "Maharashtra"));
+        deduplicator.complete("Pune", "Maharashtra", false);
+
+        assertTrue(deduplicator.tryBegin("Pune", "Maharashtra"));
+    }
+
+    @Test
+    void testEvictExpiredDropsOldEntries() {
+        deduplicator.tryBegin("Pune", "Maharashtra");
+        deduplicator.complete("Pune", "Maharashtra", true);
+
+        when(clock.millis()).thenReturn(600_000L);
+        deduplicator.evictExpired();
+
+        assertEquals(0, ((Map<?, ?>) ReflectionTestUtils.getField(deduplicator, "recentlyEmitted")).size());
+    }
+}
@@ -0,0 +1,148 @@
+package com.se.scheduler.kafka.service.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.kafka.support.Acknowledgment;
+
+import com.se.scheduler.kafka.service.LocationDeduplicator;
+import com.se.scheduler.kafka.service.LocationReceivingConsumer;
+import com.se.scheduler.model.AirQualityData;
+import com.se.scheduler.service.GeocodingService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class LocationReceivingConsumerTest {
+
+    @Mock
+    private GeocodingService geocodingService;
+
+    @Mock
+    private KafkaListenerEndpointRegistry listenerRegistry;
+
+    @Mock
+    private MessageListenerContainer container;
+
+    @Mock
+    private Acknowledgment acknowledgment;
+
+    private ExecutorService executorService;
+
+    private LocationDeduplicator deduplicator;
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private final List<Map<String, String>> locations = List.of(
+            Map.of("city", "Pune", "state", "Maharashtra"),
+            Map.of("city", "Patna", "state", "Bihar"));
+
+    @BeforeEach
+    void setUp() {
+        executorService = Executors.newFixedThreadPool(4);
+        deduplicator = new LocationDeduplicator(new SimpleMeterRegistry());
+        when(listenerRegistry.getListenerContainer(LocationReceivingConsumer.LISTENER_ID)).thenReturn(container);
+        doAnswer(invocation -> release.await(5, TimeUnit.SECONDS))
+                .when(geocodingService).processLocation(any(AirQualityData.Location.class));
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executorService.shutdownNow();
+    }
+
+    @Test
+    void testAcknowledgesOnlyAfterBatchCompletes() throws Exception {
+        LocationReceivingConsumer consumer = new LocationReceivingConsumer(geocodingService, executorService, listenerRegistry,
+                deduplicator, 10);
+
+        consumer.receiveLocationsForGeocoding(locations, acknowledgment);
+
+        verify(geocodingService, timeout(1000).times(2)).processLocation(any(AirQualityData.Location.class));
+        verify(acknowledgment, never()).acknowledge();
+        release.countDown();
+        verify(acknowledgment, timeout(1000)).acknowledge();
+        verify(container, never()).pause();
+    }
+
+    @Test
+    void testPausesWhileFullWithoutBlockingAndResumesWhenDrained() throws Exception {
+        LocationReceivingConsumer consumer = new LocationReceivingConsumer(geocodingService, executorService, listenerRegistry,
+                deduplicator, 1);
+
+        // Returns at once; the second location waits in the backlog while the first holds the only slot
+        consumer.receiveLocationsForGeocoding(locations, acknowledgment);
+
+        verify(container).pause();
+        verify(geocodingService, timeout(1000).times(1)).processLocation(any(AirQualityData.Location.class));
+        verify(acknowledgment, never()).acknowledge();
+        release.countDown();
+
+        verify(geocodingService, timeout(1000).times(2)).processLocation(any(AirQualityData.Location.class));
+        verify(container, timeout(1000)).resume();
+        verify(acknowledgment, timeout(1000)).acknowledge();
+    }
+
+    @Test
+    void testAcknowledgesEvenWhenGeocodingFails() throws Exception {
+        // Failed locations come back with the next publish cycle; redelivering the record would only repeat them
+        doThrow(new IllegalStateException("geocoder down"))
+                .when(geocodingService).processLocation(any(AirQualityData.Location.class));
+        LocationReceivingConsumer consumer = new LocationReceivingConsumer(geocodingService, executorService, listenerRegistry,
+                deduplicator, 10);
+
+        consumer.receiveLocationsForGeocoding(locations, acknowledgment);
+
+        verify(acknowledgment, timeout(1000)).acknowledge();
+        assertEquals(0, consumer.inFlightCount());
+    }
+
+    @Test
+    void testUnreadablePayloadIsAcknowledged() throws Exception {
+        LocationReceivingConsumer consumer = new LocationReceivingConsumer(geocodingService, executorService, listenerRegistry,
+                deduplicator, 10);
+
+        consumer.receiveLocationsForGeocoding("not a location", acknowledgment);
+
+        verify(acknowledgment).acknowledge();
+    }
+
+    @Test
+    void testSkipsLocationAlreadyInFlight() throws Exception {
+        LocationReceivingConsumer consumer = new LocationReceivingConsumer(geocodingService, executorService, listenerRegistry,
+                deduplicator, 10);
+
+        consumer.receiveLocationsForGeocoding(Map.of("city", "Pune", "state", "Maharashtra"), acknowledgment);
+        consumer.receiveLocationsForGeocoding(Map.of("city", " pune ", "state", "MAHARASHTRA"), acknowledgment);
+        release.countDown();
+
+        verify(acknowledgment, timeout(1000).times(2)).acknowledge();
+        verify(geocodingService, times(1)).processLocation(any(AirQualityData.Location.class));
+    }
+}
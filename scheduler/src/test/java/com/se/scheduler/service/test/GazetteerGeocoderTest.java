@@ -0,0 +1,76 @@
+package com.se.scheduler.service.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.se.scheduler.model.CoordinatesResponse;
+import com.se.scheduler.service.GazetteerGeocoder;
+
+public class GazetteerGeocoderTest {
+
+    private GazetteerGeocoder geocoder;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        geocoder = new GazetteerGeocoder();
+        ReflectionTestUtils.setField(geocoder, "gazetteer", new ClassPathResource("gazetteer/india-cities.csv"));
+        geocoder.load();
+    }
+
+    @Test
+    void testExactMatchIgnoresCaseAndSpacing() {
+        CoordinatesResponse result = geocoder.geocode(" mumbai ", "MAHARASHTRA");
+
+        assertNotNull(result);
+        assertEquals(19.0760, result.getLatitude(), 1e-9);
+        assertEquals(72.8777, result.getLongitude(), 1e-9);
+        // Caller's spelling is kept for downstream matching
+        assertEquals(" mumbai ", result.getCity());
+    }
+
+    @Test
+    void testSameCityNameResolvesByState() {
+        CoordinatesResponse maharashtra = geocoder.geocode("Aurangabad", "Maharashtra");
+        CoordinatesResponse bihar = geocoder.geocode("Aurangabad", "Bihar");
+
+        assertEquals(19.8762, maharashtra.getLatitude(), 1e-9);
+        assertEquals(24.7521, bihar.getLatitude(), 1e-9);
+        assertNull(geocoder.geocode("Aurangabad", ""));
+    }
+
+    @Test
+    void testFuzzyMatchToleratesMisspelling() {
+        CoordinatesResponse result = geocoder.geocodeApproximate("Thiruvananthpuram", "Kerla");
+
+        assertNotNull(result);
+        // Exact lookups never guess
+        assertNull(geocoder.geocode("Thiruvananthpuram", "Kerla"));
+        assertEquals(8.5241, result.getLatitude(), 1e-9);
+    }
+
+    @Test
+    void testUnknownOrWrongStateReturnsNull() {
+        assertNull(geocoder.geocode("Atlantis", "Maharashtra"));
+        assertNull(geocoder.geocode("Pune", "Kerala"));
+        assertNull(geocoder.geocodeApproximate("Atlantis", "Maharashtra"));
+        assertNull(geocoder.geocodeApproximate("Pune", "Kerala"));
+    }
+
+    @Test
+    void testPrefixCompletion() {
+        List<CoordinatesResponse> matches = geocoder.complete("bhu", 10);
+
+        assertEquals(1, matches.size());
+        assertEquals("Bhubaneswar", matches.get(0).getCity());
+        assertTrue(geocoder.complete("b", 5).size() <= 5);
+    }
+}
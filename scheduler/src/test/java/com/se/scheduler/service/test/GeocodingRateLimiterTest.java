@@ -0,0 +1,68 @@
+package com.se.scheduler.service.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.se.scheduler.service.GeocodingRateLimiter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class GeocodingRateLimiterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private GeocodingRateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        rateLimiter = new GeocodingRateLimiter(meterRegistry);
+        ReflectionTestUtils.setField(rateLimiter, "requestsPerSecond", 20.0);
+        ReflectionTestUtils.setField(rateLimiter, "burst", 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        rateLimiter.shutdown();
+    }
+
+    @Test
+    void testBurstIsGrantedImmediately() {
+        assertTrue(rateLimiter.acquire().isDone());
+        assertTrue(rateLimiter.acquire().isDone());
+        assertFalse(rateLimiter.acquire().isDone());
+        assertEquals(1, rateLimiter.queued());
+    }
+
+    @Test
+    void testQueuedCallersAreReleasedInOrderAtTheRefillRate() throws Exception {
+        rateLimiter.acquire();
+        rateLimiter.acquire();
+
+        List<Integer> order = new CopyOnWriteArrayList<>();
+        long start = System.nanoTime();
+        CompletableFuture<?>[] waiting = new CompletableFuture<?>[4];
+        for (int i = 0; i < waiting.length; i++) {
+            int position = i;
+            waiting[i] = rateLimiter.acquire().thenRun(() -> order.add(position));
+        }
+        CompletableFuture.allOf(waiting).get(5, TimeUnit.SECONDS);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // 4 tokens at 20/s need ~200ms; none were dropped
+        assertEquals(List.of(0, 1, 2, 3), order);
+        assertTrue(elapsedMillis >= 150, "released too early: " + elapsedMillis + "ms");
+        assertEquals(0, rateLimiter.queued());
+        assertEquals(6, meterRegistry.get("geocoding.rate_limit.wait").timer().count());
+    }
+}
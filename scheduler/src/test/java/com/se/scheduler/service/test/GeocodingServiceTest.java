@@ -0,0 +1,146 @@
+package com.se.scheduler.service.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.client.ResourceAccessException;
+
+import com.se.scheduler.kafka.service.CoordinatesSendingProducer;
+import com.se.scheduler.model.AirQualityData;
+import com.se.scheduler.model.CoordinatesResponse;
+import com.se.scheduler.model.GeocodeEntry;
+import com.se.scheduler.service.GeocodeCache;
+import com.se.scheduler.service.Geocoder;
+import com.se.scheduler.service.GeocodingRateLimiter;
+import com.se.scheduler.service.GeocodingService;
+
+@ExtendWith(MockitoExtension.class)
+public class GeocodingServiceTest {
+
+    @Mock
+    private CoordinatesSendingProducer coordinatesSendingProducer;
+
+    @Mock
+    private GeocodeCache geocodeCache;
+
+    @Mock
+    private Geocoder offlineGeocoder;
+
+    @Mock
+    private Geocoder remoteGeocoder;
+
+    @Mock
+    private GeocodingRateLimiter rateLimiter;
+
+    @Captor
+    private ArgumentCaptor<Map<String, Object>> coordinatesCaptor;
+
+    private GeocodingService geocodingService;
+
+    private AirQualityData.Location location;
+
+    @BeforeEach
+    void setUp() {
+        geocodingService = new GeocodingService(coordinatesSendingProducer, geocodeCache, offlineGeocoder, remoteGeocoder,
+                rateLimiter);
+        location = new AirQualityData.Location("Pune", "Maharashtra");
+    }
+
+    @Test
+    void testGazetteerHitSkipsCacheAndRemote() {
+        when(offlineGeocoder.geocode("Pune", "Maharashtra"))
+                .thenReturn(new CoordinatesResponse("Pune", "Maharashtra", 18.5204, 73.8567));
+
+        geocodingService.processLocation(location);
+
+        verifyNoInteractions(geocodeCache, remoteGeocoder, rateLimiter);
+        verify(coordinatesSendingProducer).sendCoordinates(anyMap());
+    }
+
+    @Test
+    void testFreshCacheHitSkipsRemote() {
+        GeocodeEntry entry = new GeocodeEntry("pune|maharashtra", "Pune", "Maharashtra", 18.52, 73.85);
+        when(geocodeCache.get("Pune", "Maharashtra")).thenReturn(entry);
+        when(geocodeCache.isFresh(entry)).thenReturn(true);
+
+        geocodingService.processLocation(location);
+
+        verifyNoInteractions(remoteGeocoder, rateLimiter);
+        verify(coordinatesSendingProducer).sendCoordinates(coordinatesCaptor.capture());
+        assertEquals(18.52, coordinatesCaptor.getValue().get("latitude"));
+        assertEquals(73.85, coordinatesCaptor.getValue().get("longitude"));
+    }
+
+    @Test
+    void testCacheMissCallsRemoteAndStores() {
+        when(geocodeCache.get("Pune", "Maharashtra")).thenReturn(null);
+        when(rateLimiter.acquire()).thenReturn(CompletableFuture.completedFuture(null));
+        when(remoteGeocoder.geocode("Pune", "Maharashtra"))
+                .thenReturn(new CoordinatesResponse("Pune", "Maharashtra", 18.5204, 73.8567));
+
+        geocodingService.processLocation(location);
+
+        verify(rateLimiter).acquire();
+        verify(geocodeCache).put("Pune", "Maharashtra", 18.5204, 73.8567);
+        verify(coordinatesSendingProducer).sendCoordinates(anyMap());
+    }
+
+    @Test
+    void testStaleEntryUsedWhenRefreshFails() {
+        GeocodeEntry entry = new GeocodeEntry("pune|maharashtra", "Pune", "Maharashtra", 18.52, 73.85);
+        when(geocodeCache.get("Pune", "Maharashtra")).thenReturn(entry);
+        when(geocodeCache.isFresh(entry)).thenReturn(false);
+        when(rateLimiter.acquire()).thenReturn(CompletableFuture.completedFuture(null));
+        when(remoteGeocoder.geocode("Pune", "Maharashtra")).thenThrow(new ResourceAccessException("timeout"));
+
+        geocodingService.processLocation(location);
+
+        verify(geocodeCache, never()).put(anyString(), anyString(), anyDouble(), anyDouble());
+        verify(coordinatesSendingProducer).sendCoordinates(anyMap());
+    }
+
+    @Test
+    void testNearMissNameReachesRemoteBeforeFuzzyMatch() {
+        AirQualityData.Location nearMiss = new AirQualityData.Location("Puna", "Maharashtra");
+        when(rateLimiter.acquire()).thenReturn(CompletableFuture.completedFuture(null));
+        when(remoteGeocoder.geocode("Puna", "Maharashtra"))
+                .thenReturn(new CoordinatesResponse("Puna", "Maharashtra", 19.10, 74.20));
+
+        CoordinatesResponse result = geocodingService.resolve(nearMiss);
+
+        assertEquals(19.10, result.getLatitude());
+        verify(offlineGeocoder, never()).geocodeApproximate(anyString(), anyString());
+        verify(geocodeCache).put("Puna", "Maharashtra", 19.10, 74.20);
+    }
+
+    @Test
+    void testFuzzyMatchIsLastResortAndNotCached() {
+        AirQualityData.Location misspelt = new AirQualityData.Location("Puen", "Maharashtra");
+        when(rateLimiter.acquire()).thenReturn(CompletableFuture.completedFuture(null));
+        when(remoteGeocoder.geocode("Puen", "Maharashtra")).thenThrow(new ResourceAccessException("timeout"));
+        when(offlineGeocoder.geocodeApproximate("Puen", "Maharashtra"))
+                .thenReturn(new CoordinatesResponse("Puen", "Maharashtra", 18.5204, 73.8567));
+
+        geocodingService.processLocation(misspelt);
+
+        verify(geocodeCache, never()).put(anyString(), anyString(), anyDouble(), anyDouble());
+        verify(coordinatesSendingProducer).sendCoordinates(coordinatesCaptor.capture());
+        assertEquals(18.5204, coordinatesCaptor.getValue().get("latitude"));
+    }
+}